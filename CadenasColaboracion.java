@@ -0,0 +1,126 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import tad_grafo.AdyacenciaCSR;
+import tad_grafo.BFSBidireccional;
+import tad_grafo.InstantaneaGrafo;
+import tad_grafo.ResultadoCamino;
+
+/*
+ * Cadenas de colaboracion entre actores/actrices: "A -(pelicula)- B -(pelicula)- Kevin Bacon". Las cadenas hacia el
+ * centro (Kevin Bacon) se reconstruyen bajando por las distancias al centro, que se calculan una sola vez o vienen
+ * de la instantanea, en tiempo proporcional a los grados de los vertices de la cadena; las demas se buscan con
+ * BFSBidireccional. La pelicula de cada salto es el id de su lado, que es el simbolo del titulo, asi que no se
+ * interpreta ningun String.
+ *
+ * Las ultimas cadenas pedidas se guardan en un cache LRU acotado, compartido por todos los hilos, para que las
+ * consultas repetidas no vuelvan a reconstruirse ni a buscarse.
+ */
+final class CadenasColaboracion {
+    private final InstantaneaGrafo grafo;
+    private final int saltosPorNKB;
+
+    /*
+     * Posicion del centro, o -1 si no esta en la entrada, y distancia de cada vertice al centro.
+     */
+    private final int centro;
+    private final int[] distancias;
+
+    /*
+     * Cadenas recientes por par (origen, destino), en orden de acceso: la primera es la usada hace mas tiempo.
+     */
+    private final LinkedHashMap<Long, ResultadoCamino> recientes;
+
+    /*
+     * Pre-Condicion: distancias son las distancias al centro sobre las adyacencias de grafo (-1 si no esta
+     * conectado), o centro es -1; capacidad > 0.
+     * Post-Condicion: Cadenas con un cache vacio de a lo sumo capacidad cadenas.
+     */
+    CadenasColaboracion(InstantaneaGrafo grafo, int saltosPorNKB, int centro, int[] distancias, int capacidad) {
+        this.grafo = grafo;
+        this.saltosPorNKB = saltosPorNKB;
+        this.centro = centro;
+        this.distancias = distancias;
+        this.recientes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ResultadoCamino> masAntigua) {
+                return size() > capacidad;
+            }
+        };
+    }
+
+    /*
+     * Se obtiene un camino minimo entre dos vertices, del cache si se pidio hace poco. Si alguno de los dos es el
+     * centro el camino sale de las distancias al centro; si no, se busca desde ambos extremos.
+     * Post-Condicion: Retorna el camino, que no tiene vertices si no estan conectados.
+     */
+    ResultadoCamino camino(int origen, int destino) {
+        long clave = ((long) origen << 32) | destino;
+        synchronized (recientes) {
+            ResultadoCamino camino = recientes.get(clave);
+            if (camino != null) {
+                return camino;
+            }
+        }
+
+        ResultadoCamino camino;
+        if (centro >= 0 && origen == centro) {
+            camino = bajarAlCentro(destino).invertido();
+        } else if (centro >= 0 && destino == centro) {
+            camino = bajarAlCentro(origen);
+        } else {
+            camino = BFSBidireccional.camino(grafo.adyacencia(), origen, destino);
+        }
+        synchronized (recientes) {
+            recientes.put(clave, camino);
+        }
+        return camino;
+    }
+
+    /*
+     * Se obtiene la cadena de un actor/actriz hasta el centro.
+     * Post-Condicion: Retorna el camino, que no tiene vertices si el centro no esta en la entrada o no esta
+     * conectado con el actor/actriz.
+     */
+    ResultadoCamino caminoAlCentro(int actor) {
+        if (centro < 0) {
+            return new ResultadoCamino(-1, new int[0], new int[0]);
+        }
+        return camino(actor, centro);
+    }
+
+    /*
+     * Se arma un camino minimo de un vertice al centro: en cada paso se toma el primer vecino que esta un salto mas
+     * cerca del centro, y la pelicula es el lado que los une.
+     * Post-Condicion: Retorna el camino, que no tiene vertices si el vertice no esta conectado con el centro.
+     */
+    private ResultadoCamino bajarAlCentro(int origen) {
+        if (distancias[origen] < 0) {
+            return new ResultadoCamino(-1, new int[0], new int[0]);
+        }
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int[] ladosCSR = adyacencia.getLados();
+        int[] vertices = new int[distancias[origen] + 1];
+        int[] lados = new int[distancias[origen]];
+        vertices[0] = origen;
+        for (int i = 1; i < vertices.length; i++) {
+            int v = vertices[i - 1];
+            int k = desplazamientos[v];
+            while (distancias[vecinos[k]] != distancias[v] - 1) {
+                k++;
+            }
+            vertices[i] = vecinos[k];
+            lados[i - 1] = ladosCSR[k];
+        }
+        return new ResultadoCamino(lados.length, vertices, lados);
+    }
+
+    /*
+     * Se arma el texto de una cadena, o "infinito" si no hay camino.
+     */
+    String texto(ResultadoCamino camino) {
+        return camino.hayCamino() ? KevinBacon.cadenaPeliculas(grafo, camino, saltosPorNKB) : "infinito";
+    }
+}
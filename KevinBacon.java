@@ -1,154 +1,632 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import imdb.Actor;
+import imdb.LectorIMDB;
 import imdb.ListasIMDB;
 import imdb.Pelicula;
-import tad_grafo.GrafoNoDirigido;
-import tad_grafo.Vertice;
+import tad_grafo.BFSBidireccional;
+import tad_grafo.BFSDireccional;
+import tad_grafo.BFSMultiFuente;
+import tad_grafo.ConjuntoLados;
+import tad_grafo.Excentricidades;
+import tad_grafo.GrafoIncremental;
+import tad_grafo.InstantaneaGrafo;
+import tad_grafo.ResultadoCamino;
+import tad_grafo.ResultadoExcentricidad;
+import tad_grafo.TablaSimbolos;
 
 public class KevinBacon {
+    /*
+     * Prefijo del id de los vertices que representan peliculas en el grafo bipartito, para que no se
+     * confundan con un actor/actriz del mismo nombre.
+     */
+    static final String PREFIJO_PELICULA = "pelicula:";
+
+    /*
+     * Id del vertice de Kevin Bacon, el centro por defecto.
+     */
+    static final String KEVIN_BACON = "Kevin Bacon (I)";
+
+    /*
+     * Forma de uso que se imprime si las opciones no son validas o faltan archivos.
+     */
+    private static final String USO = "Uso: java KevinBacon [--bipartito] [--excentricidad] [--camino] [--servidor]"
+            + " [--guardar] [--actualizar] [--medir] <archivoEntrada> [argumentos de la opcion | centros...]";
+
+    /*
+     * Bandera de las instantaneas creadas a partir del grafo bipartito.
+     */
+    static final int BANDERA_BIPARTITO = 1;
+
     /*
      * Se lee la entrada y se generan 3 listas: 
      * ListaActores: Contiene una lista donde esta el nombre de cada actor/actriz y una lista de peliculas protagonizadas por el actor/actirz i.
      * ListaPeliculas: Contiene una lista de peliculas y cada pelicula, tiene asignada una lista de actores que participaron en esa pelicula.
-     * Lista IMDB: Es una lista que tiene las dos listas anteriores
+     * Lista IMDB: Es una lista que tiene las dos listas anteriores, junto con los diccionarios de actores y de
+     * peliculas por nombre que se usan para buscarlos en tiempo constante mientras se lee la entrada.
+     * La lectura la hace LectorIMDB, que proyecta el archivo en memoria y procesa sus bloques en paralelo.
      * Pre-Condicion: Correcto formato de entrada con actores y peliculas como se describe en el enunciado.
      * Post-Condicion: Retorna una lista de peliculas y actores, como se describio anteriormente.
      */ 
     private static ListasIMDB convertirInput(String path) {
-        ArrayList<Pelicula> listaPeliculas = new ArrayList<>();
-        ArrayList<Actor> listaActores = new ArrayList<>();
-        FileReader archivo;
-        BufferedReader lector;
         try {
-            archivo = new FileReader(path);
-            if (archivo.ready()) {
-                lector = new BufferedReader(archivo);
-                String linea;
-                while ((linea = lector.readLine()) != null) {
-                    String[] frases = linea.split("\\|");
-                    String titulo = frases[1];
-                    String nombreActor = frases[0];
-
-                    Actor actorActual = Actor.buscarActor(nombreActor, listaActores);
-                    if (actorActual == null) {
-                        actorActual = new Actor(nombreActor, new ArrayList<>());
-                        listaActores.add(actorActual);
-                    }
-
-                    Pelicula peliculaActual = Pelicula.buscarPelicula(titulo, listaPeliculas);
-                    if (peliculaActual == null) {
-                        ArrayList<Actor> actores = new ArrayList<>();
-                        actores.add(actorActual);
-                        peliculaActual = new Pelicula(titulo, actores);
-                        listaPeliculas.add(peliculaActual);
-                    } else {
-                        ArrayList<Actor> actores = peliculaActual.getActores();
-                        actores.add(actorActual);
-                    }
-
-                    actorActual.getListaPeliculas().add(peliculaActual);
-                }
-            } else {
-                System.out.print("Error");
-            }
-        } catch (Exception e) {
+            return LectorIMDB.leer(path);
+        } catch (IOException e) {
             System.out.println("Error: " + e.getMessage());
         }
-
-        ListasIMDB nuevaListaIMDB = new ListasIMDB(listaActores, listaPeliculas);
-        return nuevaListaIMDB;
+        return new ListasIMDB(new ArrayList<>(), new ArrayList<>());
     }
 
     /*
-     * Se crea el grafo donde el id de cada vertice, es el nombre del actor/actriz
-     * y en el peso se almacenara el NKB que al crear el grafo sera 0 para todos los vertices.
-     *  
+     * Se crea el grafo donde hay un vertice por cada actor/actriz, cuyo id es su nombre, y una arista entre cada
+     * par de actores que comparten alguna pelicula, etiquetada con el titulo de la primera que se encuentra. El
+     * grafo se escribe directamente como instantanea a partir de los simbolos de las listas, sin crear un
+     * GrafoNoDirigido ni un objeto por vertice o por arista, y sin copiar ni comparar Strings.
+     * Pre-Condicion: ListaIMDB no vacia
+     * Post-Condicion: Instantanea del grafo de Actores/Actrices.
      */
-    private static GrafoNoDirigido crearGrafo(ListasIMDB listaIMDB) {
-        GrafoNoDirigido grafo = GrafoNoDirigido.crearGrafoNoDirigido();
+    private static InstantaneaGrafo crearGrafo(ListasIMDB listaIMDB) {
         ArrayList<Actor> actores = listaIMDB.getListaActores();
-
+        LadosInstantanea grafo = new LadosInstantanea(actores.size(), 16);
         for (Actor actor : actores)
-            grafo.agregarVertice(actor.getNombre(), 0);
+            grafo.agregarVertice(actor.getSimbolo());
 
         /*
          * Se verifica si un actor tiene alguna pelicula en relacion con otro y si la hay se crea una arista entre ellos.
-         * Pre-Condicion: ListaIMDB no vacia
-         * Post-Condicion: Grafo de Actores/Actrices.
          */
         for (Actor actor : actores) {
+            int u = grafo.posicion(actor.getSimbolo());
             for (Pelicula pelicula : actor.getListaPeliculas()) {
                 for (Actor participante : pelicula.getActores()) {
-                    if (!actor.getNombre().equals(participante.getNombre())) {
-                        String arcoId = String.format("%s-%s:%s", pelicula.getTitulo(), actor.getNombre(),
-                                participante.getNombre());
-                        grafo.agregarArista(arcoId, 0, actor.getNombre(), participante.getNombre());
+                    if (actor.getSimbolo() != participante.getSimbolo()) {
+                        grafo.agregarLado(pelicula.getSimbolo(), u, grafo.posicion(participante.getSimbolo()));
                     }
                 }
             }
         }
+        return grafo.instantanea(actores.size(), 0);
+    }
+
+    /*
+     * Se crea el grafo bipartito donde hay un vertice por cada actor/actriz (con su nombre como id) y uno por
+     * cada pelicula (con PREFIJO_PELICULA seguido del titulo como id), y una arista entre cada actor/actriz
+     * y cada pelicula en la que participo. El numero de aristas es el numero de lineas de la entrada, en
+     * lugar de crecer con el cuadrado del reparto de cada pelicula. Dos actores que comparten pelicula
+     * quedan a distancia 2, por lo que el NKB es la mitad de la distancia en este grafo.
+     * Los vertices de los actores se agregan primero y en el mismo orden que en crearGrafo. Cada arista se
+     * etiqueta con el titulo de la pelicula, y tambien se escribe directamente como instantanea.
+     * Pre-Condicion: ListaIMDB no vacia
+     * Post-Condicion: Instantanea del grafo bipartito de Actores/Actrices y Peliculas.
+     */
+    private static InstantaneaGrafo crearGrafoBipartito(ListasIMDB listaIMDB) {
+        ArrayList<Actor> actores = listaIMDB.getListaActores();
+        ArrayList<Pelicula> peliculas = listaIMDB.getListaPeliculas();
+        int creditos = 0;
+        for (Pelicula pelicula : peliculas)
+            creditos += pelicula.getActores().size();
+        LadosInstantanea grafo = new LadosInstantanea(actores.size() + peliculas.size(), creditos);
+
+        TablaSimbolos tabla = TablaSimbolos.global();
+        for (Actor actor : actores)
+            grafo.agregarVertice(actor.getSimbolo());
+
+        for (Pelicula pelicula : peliculas) {
+            int vertice = grafo.agregarVertice(tabla.agregar(PREFIJO_PELICULA + pelicula.getTitulo()));
+            for (Actor participante : pelicula.getActores()) {
+                grafo.agregarLado(pelicula.getSimbolo(), grafo.posicion(participante.getSimbolo()), vertice);
+            }
+        }
+        return grafo.instantanea(actores.size(), BANDERA_BIPARTITO);
+    }
+
+    /*
+     * Vertices y lados de una instantanea que se crea a partir de las listas, guardados en arreglos de enteros:
+     * el simbolo de cada vertice y, por cada lado, la posicion de sus extremos y el simbolo de su pelicula. Como en
+     * GrafoNoDirigido, un vertice cuyo simbolo ya esta no se vuelve a agregar, y un lado entre dos vertices que ya
+     * estan unidos tampoco.
+     */
+    private static final class LadosInstantanea {
+        private int[] simbolosVertices;
+        private int nVertices;
+
+        /*
+         * Posicion de cada simbolo en los vertices, o -1 si no es un vertice.
+         */
+        private int[] posiciones = new int[0];
+
+        private int[] extremos1;
+        private int[] extremos2;
+        private int[] simbolosLados;
+        private int nLados;
+        private final ConjuntoLados pares = new ConjuntoLados(false);
+
+        /*
+         * Pre-Condicion: vertices y lados son estimaciones del numero de vertices y de lados; los arreglos crecen
+         * si hace falta.
+         */
+        LadosInstantanea(int vertices, int lados) {
+            simbolosVertices = new int[Math.max(vertices, 1)];
+            extremos1 = new int[Math.max(lados, 1)];
+            extremos2 = new int[Math.max(lados, 1)];
+            simbolosLados = new int[Math.max(lados, 1)];
+        }
+
+        /*
+         * Post-Condicion: Retorna la posicion del vertice, agregandolo si su simbolo no estaba.
+         */
+        int agregarVertice(int simbolo) {
+            if (posicion(simbolo) >= 0) {
+                return posicion(simbolo);
+            }
+            if (simbolo >= posiciones.length) {
+                int tamanoAnterior = posiciones.length;
+                posiciones = Arrays.copyOf(posiciones, Math.max(simbolo + 1, tamanoAnterior * 2));
+                Arrays.fill(posiciones, tamanoAnterior, posiciones.length, -1);
+            }
+            if (nVertices == simbolosVertices.length) {
+                simbolosVertices = Arrays.copyOf(simbolosVertices, nVertices * 2);
+            }
+            simbolosVertices[nVertices] = simbolo;
+            posiciones[simbolo] = nVertices;
+            return nVertices++;
+        }
+
+        int posicion(int simbolo) {
+            return simbolo < posiciones.length ? posiciones[simbolo] : -1;
+        }
+
+        void agregarLado(int simbolo, int u, int v) {
+            if (!pares.agregar(u, v)) {
+                return;
+            }
+            if (nLados == extremos1.length) {
+                extremos1 = Arrays.copyOf(extremos1, nLados * 2);
+                extremos2 = Arrays.copyOf(extremos2, nLados * 2);
+                simbolosLados = Arrays.copyOf(simbolosLados, nLados * 2);
+            }
+            extremos1[nLados] = u;
+            extremos2[nLados] = v;
+            simbolosLados[nLados++] = simbolo;
+        }
+
+        InstantaneaGrafo instantanea(int nPrincipales, int banderas) {
+            return InstantaneaGrafo.de(Arrays.copyOf(simbolosVertices, nVertices), nPrincipales,
+                    Arrays.copyOf(extremos1, nLados), Arrays.copyOf(extremos2, nLados),
+                    Arrays.copyOf(simbolosLados, nLados), banderas);
+        }
+    }
+
+    /*
+     * Se obtiene la vista compacta del grafo con la que se hacen todas las consultas: si no se leyo la entrada (es
+     * una instantanea guardada con --guardar) se carga directamente; si no, se crea a partir de las listas
+     * leidas. Los vertices principales de la instantanea son los actores/actrices.
+     * Post-Condicion: Retorna la instantanea, o null si la instantanea no se pudo cargar.
+     */
+    private static InstantaneaGrafo crearInstantanea(String path, ListasIMDB listasIMDB, boolean bipartito,
+            MedidorFases medidor) {
+        if (listasIMDB == null) {
+            MedidorFases.Fase carga = medidor.iniciar("carga");
+            try {
+                InstantaneaGrafo grafo = InstantaneaGrafo.cargar(Path.of(path));
+                carga.terminar(grafo.numeroDeVertices(), grafo.numeroDeLados());
+                return grafo;
+            } catch (IOException e) {
+                System.out.println("Error: " + e.getMessage());
+                return null;
+            }
+        }
+        MedidorFases.Fase construccion = medidor.iniciar("construccion");
+        InstantaneaGrafo grafo = bipartito ? crearGrafoBipartito(listasIMDB) : crearGrafo(listasIMDB);
+        construccion.terminar(grafo.numeroDeVertices(), grafo.numeroDeLados());
         return grafo;
     }
-    
+
+    /*
+     * Se obtiene la componente conexa de cada vertice del grafo a partir de las que LectorIMDB calculo al leer la
+     * entrada. Los vertices son los actores/actrices y, en el grafo bipartito, despues las peliculas, en el mismo
+     * orden que en las listas.
+     * Post-Condicion: Retorna la componente de cada vertice, o null si no se leyo la entrada o si los vertices no
+     * corresponden con las listas (por ejemplo, si un actor/actriz se llama como el vertice de una pelicula).
+     */
+    private static int[] componentesVertices(InstantaneaGrafo grafo, ListasIMDB listasIMDB, boolean bipartito) {
+        if (listasIMDB == null) {
+            return null;
+        }
+        int[] actores = listasIMDB.getComponentesActores();
+        int[] peliculas = bipartito ? listasIMDB.getComponentesPeliculas() : new int[0];
+        if (grafo.numeroDeVertices() != actores.length + peliculas.length) {
+            return null;
+        }
+        int[] componentes = Arrays.copyOf(actores, actores.length + peliculas.length);
+        System.arraycopy(peliculas, 0, componentes, actores.length, peliculas.length);
+        return componentes;
+    }
+
+    /*
+     * Se buscan las distancias desde un vertice con el BFS que optimiza la direccion. Si se conocen las componentes
+     * de los vertices, el BFS se limita a la componente de la raiz: los actores/actrices de las demas componentes
+     * quedan con distancia -1 (infinito) sin recorrerlos, y el BFS no depende de su tamaño.
+     */
+    private static int[] distanciasDesde(InstantaneaGrafo grafo, int[] componentes, int raiz) {
+        if (componentes == null) {
+            return BFSDireccional.BFS(grafo.adyacencia(), raiz).getDistancias();
+        }
+        int tamano = 0;
+        for (int componente : componentes) {
+            if (componente == componentes[raiz]) {
+                tamano++;
+            }
+        }
+        int[] vertices = new int[tamano];
+        for (int v = 0, i = 0; v < componentes.length; v++) {
+            if (componentes[v] == componentes[raiz]) {
+                vertices[i++] = v;
+            }
+        }
+        return BFSDireccional.BFS(grafo.adyacencia(), raiz, vertices).getDistancias();
+    }
+
+    /*
+     * Se lee la entrada midiendo la fase de lectura. Los vertices son los actores/actrices y las peliculas, y los
+     * lados son los creditos leidos.
+     */
+    private static ListasIMDB leer(String path, MedidorFases medidor) {
+        MedidorFases.Fase lectura = medidor.iniciar("lectura");
+        ListasIMDB listasIMDB = convertirInput(path);
+        long creditos = 0;
+        for (Pelicula pelicula : listasIMDB.getListaPeliculas()) {
+            creditos += pelicula.getActores().size();
+        }
+        lectura.terminar(listasIMDB.getListaActores().size() + listasIMDB.getListaPeliculas().size(), creditos);
+        int mayor = 0;
+        for (int actores : listasIMDB.getActoresPorComponente()) {
+            mayor = Math.max(mayor, actores);
+        }
+        medidor.anotar("Componentes conexas: " + listasIMDB.getActoresPorComponente().length + ", la mayor con "
+                + mayor + " de " + listasIMDB.getListaActores().size() + " actores");
+        return listasIMDB;
+    }
+
+    /*
+     * Se agregan a una instantanea bipartita con distancias los creditos de un archivo nuevo y se guarda el
+     * resultado en otra instantanea. Solo se crean los vertices y aristas nuevos, y las distancias a Kevin Bacon
+     * se reparan desde los extremos de cada arista nueva, por lo que el costo depende de los creditos nuevos y
+     * de los actores/actrices cuyo NKB baja, no del tamaño del grafo (salvo al escribir la instantanea).
+     * Pre-Condicion: La instantanea se creo con --bipartito y contiene a Kevin Bacon.
+     */
+    private static void actualizar(InstantaneaGrafo grafo, String nuevos, String salida, MedidorFases medidor) {
+        if ((grafo.getBanderas() & BANDERA_BIPARTITO) == 0 || grafo.getRaiz() < 0) {
+            System.out.println("Error: solo se pueden actualizar instantaneas bipartitas que contengan a Kevin Bacon");
+            return;
+        }
+        ListasIMDB creditos = leer(nuevos, medidor);
+        MedidorFases.Fase actualizacion = medidor.iniciar("actualizacion");
+        TablaSimbolos tabla = TablaSimbolos.global();
+        GrafoIncremental incremental = new GrafoIncremental(grafo);
+        for (Actor actor : creditos.getListaActores()) {
+            incremental.agregarVertice(actor.getSimbolo(), true);
+        }
+        int nuevasAristas = 0;
+        for (Pelicula pelicula : creditos.getListaPeliculas()) {
+            int vertice = incremental.agregarVertice(tabla.agregar(PREFIJO_PELICULA + pelicula.getTitulo()), false);
+            for (Actor participante : pelicula.getActores()) {
+                int actor = incremental.indiceDeSimbolo(participante.getSimbolo());
+                if (incremental.agregarArista(pelicula.getSimbolo(), actor, vertice)) {
+                    nuevasAristas++;
+                }
+            }
+        }
+
+        InstantaneaGrafo actualizada = incremental.congelar();
+        actualizacion.terminar(creditos.getListaActores().size() + creditos.getListaPeliculas().size(), nuevasAristas);
+
+        MedidorFases.Fase escritura = medidor.iniciar("escritura");
+        try {
+            actualizada.escribir(Path.of(salida));
+            escritura.terminar(actualizada.numeroDeVertices(), actualizada.numeroDeLados());
+            System.out.println("Aristas nuevas: " + nuevasAristas + ", distancias actualizadas: "
+                    + incremental.distanciasActualizadas());
+            System.out.println("Instantanea guardada en " + salida);
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Se imprime el numero de cada actor/actriz respecto de un centro, a partir de las distancias al vertice del
+     * centro, y al final el o los actores con mayor numero. Si la distancia es -1 se imprime "infinito".
+     */
+    private static void imprimirNumeros(InstantaneaGrafo grafo, int[] distancias, int saltosPorNKB,
+            String nombreCentro) {
+        double mayorPeso = 0;
+        for (int i = 0; i < grafo.numeroDePrincipales(); i++) {
+            double peso = distancias[i] < 0 ? -1 : distancias[i] / saltosPorNKB;
+            if (peso > mayorPeso) {
+                mayorPeso = peso;
+            }
+
+            if (peso == -1) {
+                System.out.println(grafo.idVertice(i) + " : " + "infinito");
+            } else {
+                System.out.println(grafo.idVertice(i) + " : " + peso);
+            }
+        }
+        System.out.println("-----------------------------------------------------------");
+        System.out.println("El actor / actriz con mayor numero de " + nombreCentro + " es: ");
+        for (int i = 0; i < grafo.numeroDePrincipales(); i++) {
+            double peso = distancias[i] < 0 ? -1 : distancias[i] / saltosPorNKB;
+            if (peso == mayorPeso) {
+                System.out.println(grafo.idVertice(i) + ", con un NKB de: " + peso);
+            }
+        }
+    }
+
+    /*
+     * Se imprime el diametro, el radio y los centros de la componente del vertice raiz, es decir, el mayor NKB
+     * posible entre dos actores/actrices y los actores/actrices que mejor podrian reemplazar a Kevin Bacon. Solo
+     * se calcula sobre el grafo de actores, porque en el bipartito las excentricidades incluyen a las peliculas.
+     */
+    private static void imprimirExcentricidad(InstantaneaGrafo grafo, boolean bipartito, int raiz) {
+        System.out.println("-----------------------------------------------------------");
+        if (bipartito || raiz < 0) {
+            System.out.println("La excentricidad solo se calcula sin --bipartito y con un centro en la entrada");
+            return;
+        }
+        ResultadoExcentricidad resultado = Excentricidades.calcular(grafo.adyacencia(), raiz);
+        System.out.println("Diametro: " + resultado.getDiametro());
+        System.out.println("Radio: " + resultado.getRadio());
+        System.out.println("Centros:");
+        for (int centro : resultado.getCentros()) {
+            System.out.println(grafo.idVertice(centro));
+        }
+        System.out.println("Busquedas en anchura: " + resultado.getBusquedas());
+    }
+
+    /*
+     * Se imprime la distancia entre dos actores/actrices y una cadena de peliculas que los une, buscando desde
+     * ambos extremos a la vez.
+     */
+    private static void imprimirCamino(InstantaneaGrafo grafo, int saltosPorNKB, String origen, String destino) {
+        ResultadoCamino resultado = null;
+        if (grafo.indiceVertice(origen) >= 0 && grafo.indiceVertice(destino) >= 0) {
+            resultado = BFSBidireccional.camino(grafo.adyacencia(), grafo.indiceVertice(origen),
+                    grafo.indiceVertice(destino));
+        }
+        if (resultado == null || !resultado.hayCamino()) {
+            System.out.println(origen + " y " + destino + " no tienen relacion: infinito");
+            return;
+        }
+
+        System.out.println(origen + " y " + destino + " estan a " + resultado.getDistancia() / saltosPorNKB);
+        System.out.println(cadenaPeliculas(grafo, resultado, saltosPorNKB));
+    }
+
+    /*
+     * Se arma la cadena "A -(pelicula)- B -(pelicula)- C" de un camino entre actores/actrices. El id de cada lado
+     * es el titulo de su pelicula en ambos grafos; en el bipartito cada pelicula ocupa dos saltos, por lo que se
+     * toma un lado de cada dos.
+     * Pre-Condicion: El camino une a dos actores/actrices.
+     */
+    static String cadenaPeliculas(InstantaneaGrafo grafo, ResultadoCamino resultado, int saltosPorNKB) {
+        int[] vertices = resultado.getVertices();
+        StringBuilder cadena = new StringBuilder(grafo.idVertice(vertices[0]));
+        for (int i = saltosPorNKB; i < vertices.length; i += saltosPorNKB) {
+            cadena.append(" -(").append(grafo.idLado(resultado.getLados()[i - saltosPorNKB])).append(")- ");
+            cadena.append(grafo.idVertice(vertices[i]));
+        }
+        return cadena.toString();
+    }
+
     public static void main(String[] args) {
         /*
          * Se lee la entrada y se crea el grafo y se coloca el vertice con id Kevin Bacon(I) como nodo de entrada al grafo.
+         * Con la opcion --bipartito se usa el grafo de actores y peliculas, en el que cada NKB equivale a dos saltos.
+         * En ambos grafos los primeros vertices son los actores/actrices, en el orden de la entrada.
+         * Despues del archivo se pueden indicar otros actores/actrices como centros, en lugar de Kevin Bacon.
+         * Con la opcion --excentricidad se imprime ademas el diametro, el radio y los centros de la componente del
+         * primer centro. Con la opcion --camino se indican dos actores/actrices despues del archivo y solo se
+         * imprime la distancia entre ellos y una cadena de peliculas que los une. Con la opcion --servidor no se
+         * imprime nada: el grafo se queda en memoria y se atienden consultas HTTP en el puerto indicado despues
+         * del archivo (8080 por defecto), como se describe en ServidorKevinBacon.
+         * Con la opcion --guardar se guarda una instantanea binaria del grafo en el archivo indicado despues de la
+         * entrada. Si la entrada es una instantanea se carga directamente, sin leer ni crear el grafo, y el modo
+         * (bipartito o no) es el que se uso al guardarla. La instantanea guarda tambien las distancias a Kevin
+         * Bacon, y con la opcion --actualizar se agregan a una instantanea bipartita los creditos de un archivo
+         * nuevo, reparando solo las distancias que cambian, y se guarda el resultado en otra instantanea.
+         * Con la opcion --medir se imprime al final, por la salida de error, el tiempo, la memoria reservada y el
+         * ritmo de cada fase, y el tamaño de cada nivel de los BFS, como se describe en MedidorFases.
          */
-        ListasIMDB listasIMDB = convertirInput(args[0]);
-        GrafoNoDirigido grafo = crearGrafo(listasIMDB);
-        int indiceNodoRaiz = 0;
-        for (Vertice vertice : grafo.vertices()) {
-            if (vertice.getId().equals("Kevin Bacon (I)")) {
-                indiceNodoRaiz = grafo.vertices().indexOf(vertice);
-                break;
+        int argumento = 0;
+        boolean bipartito = false;
+        boolean excentricidad = false;
+        boolean camino = false;
+        boolean servidor = false;
+        boolean guardar = false;
+        boolean actualizar = false;
+        boolean medir = false;
+        for (; argumento < args.length && args[argumento].startsWith("--"); argumento++) {
+            String opcion = args[argumento];
+            if (opcion.equals("--bipartito")) {
+                bipartito = true;
+            } else if (opcion.equals("--excentricidad")) {
+                excentricidad = true;
+            } else if (opcion.equals("--camino")) {
+                camino = true;
+            } else if (opcion.equals("--servidor")) {
+                servidor = true;
+            } else if (opcion.equals("--guardar")) {
+                guardar = true;
+            } else if (opcion.equals("--actualizar")) {
+                actualizar = true;
+            } else if (opcion.equals("--medir")) {
+                medir = true;
+            } else {
+                System.out.println("Error: opcion desconocida " + opcion);
+                System.out.println(USO);
+                return;
             }
         }
         /*
-         * Se buscan los caminos con BFS desde el vertice de Kevin Bacon.
+         * Hace falta el archivo de entrada y ademas los dos archivos de --actualizar, el de --guardar o los dos
+         * actores/actrices de --camino.
          */
-        List<List<Vertice>> caminosBFS = GrafoNoDirigido.BFS(grafo, indiceNodoRaiz);
-
-        /*
-         * El ultimo vertice de un camino tendra un NKB igual al tamaño del camino.
-         */
-        for (List<Vertice> camino : caminosBFS) {
-            camino.get(camino.size()-1).setPeso(camino.size()-1);
+        int requeridos = 1 + (actualizar ? 2 : guardar ? 1 : camino ? 2 : 0);
+        if (args.length - argumento < requeridos) {
+            System.out.println(USO);
+            return;
         }
         /*
-         * Se buscan los vertices con NKB = 0 que no sea Kevin Bacon y se les asigna un peso(NKB) de -1
+         * Con --servidor, el argumento que sigue al archivo de entrada, si esta, es el puerto: un entero de 1 a 65535.
          */
-        for (Vertice vertice: grafo.vertices()){
-            if((!vertice.getId().equals("Kevin Bacon (I)")) && 
-            (vertice.getPeso() == 0)){
-                vertice.setPeso(-1);
+        int puerto = 8080;
+        if (servidor && args.length - argumento > 1) {
+            try {
+                puerto = Integer.parseInt(args[argumento + 1]);
+            } catch (NumberFormatException e) {
+                puerto = -1;
+            }
+            if (puerto < 1 || puerto > 65535) {
+                System.out.println("Error: puerto invalido " + args[argumento + 1]);
+                System.out.println(USO);
+                return;
+            }
+        }
+        MedidorFases medidor = new MedidorFases(medir);
+        try {
+            ejecutar(args, argumento, bipartito, excentricidad, camino, servidor ? puerto : 0, guardar, actualizar,
+                    medidor);
+        } finally {
+            medidor.imprimirResumen();
+        }
+    }
+
+    /*
+     * Se ejecuta la opcion elegida en main a partir del archivo de entrada, que esta en args[argumento].
+     * Pre-Condicion: puerto es el puerto validado de --servidor, o 0 si no se eligio esa opcion.
+     */
+    private static void ejecutar(String[] args, int argumento, boolean bipartito, boolean excentricidad,
+            boolean camino, int puerto, boolean guardar, boolean actualizar, MedidorFases medidor) {
+        String entrada = args[argumento++];
+        ListasIMDB listasIMDB = InstantaneaGrafo.esInstantanea(Path.of(entrada)) ? null : leer(entrada, medidor);
+        InstantaneaGrafo grafo = crearInstantanea(entrada, listasIMDB, bipartito, medidor);
+        if (grafo == null) {
+            return;
+        }
+        bipartito = (grafo.getBanderas() & BANDERA_BIPARTITO) != 0;
+        int[] componentes = componentesVertices(grafo, listasIMDB, bipartito);
+        int saltosPorNKB = bipartito ? 2 : 1;
+        List<String> centros = Arrays.asList(args).subList(argumento, args.length);
+        if (centros.isEmpty()) {
+            centros = List.of(KEVIN_BACON);
+        }
+
+        if (actualizar) {
+            actualizar(grafo, args[argumento], args[argumento + 1], medidor);
+            return;
+        }
+        if (guardar) {
+            int kevinBacon = grafo.indiceVertice(KEVIN_BACON);
+            if (kevinBacon >= 0) {
+                MedidorFases.Fase bfs = medidor.iniciar("bfs");
+                grafo.setDistancias(kevinBacon, distanciasDesde(grafo, componentes, kevinBacon));
+                bfs.terminar(grafo.numeroDeVertices(), grafo.numeroDeLados());
+                medidor.nivelesBFS(KEVIN_BACON, grafo.getDistancias());
+            }
+            MedidorFases.Fase escritura = medidor.iniciar("escritura");
+            try {
+                grafo.escribir(Path.of(args[argumento]));
+                escritura.terminar(grafo.numeroDeVertices(), grafo.numeroDeLados());
+                System.out.println("Instantanea guardada en " + args[argumento]);
+            } catch (IOException e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+            return;
+        }
+        if (puerto > 0) {
+            try {
+                MedidorFases.Fase inicio = medidor.iniciar("servidor");
+                new ServidorKevinBacon(grafo, saltosPorNKB).iniciar(puerto);
+                inicio.terminar(grafo.numeroDeVertices(), grafo.numeroDeLados());
+                System.out.println("Atendiendo consultas en http://localhost:" + puerto);
+            } catch (IOException e) {
+                System.out.println("Error: " + e.getMessage());
             }
+            return;
+        }
+        if (camino) {
+            MedidorFases.Fase busqueda = medidor.iniciar("camino");
+            imprimirCamino(grafo, saltosPorNKB, args[argumento], args[argumento + 1]);
+            busqueda.terminar(0, 0);
+            return;
         }
+
         /*
-         * Se imprimen todos los vertices con su respectivo NKB y si NKB=-1 se imprime "infinito"
+         * Se buscan las distancias con BFS desde el vertice de cada centro, salvo que la instantanea ya las tenga.
+         * Con un solo centro se usa el BFS que optimiza la direccion, que da las mismas distancias que
+         * GrafoNoDirigido.BFS revisando menos aristas en los niveles intermedios, limitado a la componente del
+         * centro si se leyo la entrada; con varios, un unico BFS multi-fuente las calcula para todos a la vez. Si un
+         * centro no esta en la entrada, ningun actor/actriz tiene relacion con el y todas sus distancias quedan en -1.
          */
-        double mayorPeso = 0;
-        for (Vertice vertice : grafo.vertices()){
-            if (vertice.getPeso() > mayorPeso){
-                mayorPeso = vertice.getPeso();
+        MedidorFases.Fase bfs = medidor.iniciar("bfs");
+        int[][] distancias = new int[centros.size()][grafo.numeroDeVertices()];
+        int[] raices = new int[centros.size()];
+        int nRaices = 0;
+        for (int c = 0; c < centros.size(); c++) {
+            Arrays.fill(distancias[c], -1);
+            if (grafo.indiceVertice(centros.get(c)) >= 0) {
+                raices[nRaices++] = grafo.indiceVertice(centros.get(c));
             }
-        
-            if (vertice.getPeso() == -1){
-                System.out.println(vertice.getId() +" : "+ "infinito");
-            }else{
-                System.out.println(vertice.getId() +" : "+  vertice.getPeso());
+        }
+        int[][] distanciasRaices;
+        if (nRaices == 1 && grafo.getRaiz() == raices[0]) {
+            distanciasRaices = new int[][] { grafo.getDistancias() };
+        } else if (nRaices == 1) {
+            distanciasRaices = new int[][] { distanciasDesde(grafo, componentes, raices[0]) };
+        } else {
+            distanciasRaices = BFSMultiFuente.distancias(grafo.adyacencia(), Arrays.copyOf(raices, nRaices));
+        }
+        for (int c = 0, r = 0; c < centros.size(); c++) {
+            if (grafo.indiceVertice(centros.get(c)) >= 0) {
+                distancias[c] = distanciasRaices[r++];
             }
-            
         }
-        System.out.println("-----------------------------------------------------------");
-        System.out.println("El actor / actriz con mayor numero de Kevin Bacon es: ");
-        for (Vertice vertice : grafo.vertices()){
-            if (vertice.getPeso() == mayorPeso){
-                System.out.println(vertice.getId()+", con un NKB de: "+ vertice.getPeso());
+        bfs.terminar(distanciasRaices.length == 0 ? 0 : grafo.numeroDeVertices(),
+                distanciasRaices.length == 0 ? 0 : grafo.numeroDeLados());
+        for (int c = 0; c < centros.size(); c++) {
+            if (grafo.indiceVertice(centros.get(c)) >= 0) {
+                medidor.nivelesBFS(centros.get(c), distancias[c]);
             }
         }
+
+        /*
+         * El NKB de cada actor/actriz es su distancia al primer centro, y a los que no se pueden alcanzar se les
+         * asigna un peso(NKB) de -1
+         */
+        for (int i = 0; i < grafo.numeroDePrincipales(); i++) {
+            grafo.setPeso(i, distancias[0][i] < 0 ? -1 : distancias[0][i] / saltosPorNKB);
+        }
+
+        /*
+         * Se imprimen todos los vertices con su respectivo numero para cada centro.
+         */
+        MedidorFases.Fase impresion = medidor.iniciar("impresion");
+        for (int c = 0; c < centros.size(); c++) {
+            String centro = centros.get(c);
+            if (centros.size() > 1) {
+                System.out.println("===== " + centro + " =====");
+            }
+            imprimirNumeros(grafo, distancias[c], saltosPorNKB, centro.equals(KEVIN_BACON) ? "Kevin Bacon" : centro);
+        }
+        impresion.terminar((long) centros.size() * grafo.numeroDePrincipales(), 0);
+
+        if (excentricidad) {
+            MedidorFases.Fase fase = medidor.iniciar("excentricidad");
+            imprimirExcentricidad(grafo, bipartito, nRaices > 0 ? raices[0] : -1);
+            fase.terminar(0, 0);
+        }
     }
 }
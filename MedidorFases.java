@@ -0,0 +1,230 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * Mide las fases de una ejecucion de KevinBacon (lectura, construccion del grafo, BFS, impresion, ...): el tiempo,
+ * los bytes reservados por todos los hilos, los vertices y lados procesados por segundo y el pico del heap. Cada
+ * fase y cada nivel de un BFS se emiten ademas como eventos de JFR, que solo se registran si hay una grabacion
+ * activa (por ejemplo con -XX:StartFlightRecording) y que en otro caso no cuestan nada.
+ *
+ * Medir una fase cuesta unas pocas llamadas a los MXBeans, sin importar el tamaño de la entrada, por lo que el
+ * medidor puede quedar activo siempre; el resumen solo se imprime (por la salida de error, para no mezclarse con
+ * los resultados) si se pide con la opcion --medir.
+ */
+final class MedidorFases {
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final boolean imprimir;
+    private final List<Fase> fases = new ArrayList<>();
+    private final List<String> notas = new ArrayList<>();
+
+    /*
+     * Post-Condicion: Medidor sin fases. Si imprimir es false las fases se miden y se emiten como eventos, pero no
+     * se imprime el resumen.
+     */
+    MedidorFases(boolean imprimir) {
+        this.imprimir = imprimir;
+    }
+
+    /*
+     * Se empieza a medir una fase. El pico del heap se reinicia para que el de la fase no incluya el de las
+     * anteriores.
+     */
+    Fase iniciar(String nombre) {
+        return new Fase(nombre);
+    }
+
+    /*
+     * Se registra el numero de vertices en cada nivel de un BFS a partir de sus distancias. Solo se recorren las
+     * distancias si se va a imprimir el resumen o si se estan grabando los eventos de los niveles.
+     */
+    void nivelesBFS(String centro, int[] distancias) {
+        EventoNivelBFS evento = new EventoNivelBFS();
+        if (!imprimir && !evento.isEnabled()) {
+            return;
+        }
+        int profundidad = -1;
+        for (int distancia : distancias) {
+            profundidad = Math.max(profundidad, distancia);
+        }
+        long[] tamanos = new long[profundidad + 1];
+        for (int distancia : distancias) {
+            if (distancia >= 0) {
+                tamanos[distancia]++;
+            }
+        }
+
+        StringBuilder linea = new StringBuilder("Niveles del BFS desde " + centro + ":");
+        for (int nivel = 0; nivel < tamanos.length; nivel++) {
+            evento = new EventoNivelBFS();
+            evento.centro = centro;
+            evento.nivel = nivel;
+            evento.vertices = tamanos[nivel];
+            evento.commit();
+            linea.append(' ').append(tamanos[nivel]);
+        }
+        notas.add(linea.toString());
+    }
+
+    /*
+     * Se agrega una linea al final del resumen, por ejemplo el tamaño de las componentes conexas.
+     */
+    void anotar(String linea) {
+        notas.add(linea);
+    }
+
+    /*
+     * Se imprime por la salida de error una linea por fase, los totales, los niveles de los BFS y las anotaciones,
+     * si se pidio el resumen.
+     */
+    void imprimirResumen() {
+        if (!imprimir) {
+            return;
+        }
+        long nanos = 0;
+        long reservados = 0;
+        long pico = 0;
+        System.err.println(String.format("%-14s %12s %14s %14s %14s %14s", "Fase", "Tiempo (ms)", "Reservado (MB)",
+                "Vertices/s", "Lados/s", "Pico heap (MB)"));
+        for (Fase fase : fases) {
+            System.err.println(String.format("%-14s %12.1f %14.1f %14s %14s %14.1f", fase.nombre, fase.nanos / 1e6,
+                    fase.reservados / 1e6, porSegundo(fase.vertices, fase.nanos), porSegundo(fase.lados, fase.nanos),
+                    fase.pico / 1e6));
+            nanos += fase.nanos;
+            reservados += fase.reservados;
+            pico = Math.max(pico, fase.pico);
+        }
+        System.err.println(String.format("%-14s %12.1f %14.1f %14s %14s %14.1f", "total", nanos / 1e6,
+                reservados / 1e6, "", "", pico / 1e6));
+        for (String linea : notas) {
+            System.err.println(linea);
+        }
+    }
+
+    private static String porSegundo(long cantidad, long nanos) {
+        return cantidad <= 0 || nanos <= 0 ? "" : String.format("%.0f", cantidad * 1e9 / nanos);
+    }
+
+    /*
+     * Bytes reservados hasta ahora por cada hilo vivo. Los de los hilos que terminan durante una fase no se
+     * cuentan, pero los de LectorIMDB y BFSParalelo corren en el pool comun, cuyos hilos sobreviven a la fase.
+     */
+    private static Map<Long, Long> reservadosPorHilo() {
+        long[] ids = HILOS.getAllThreadIds();
+        long[] bytes = HILOS.getThreadAllocatedBytes(ids);
+        Map<Long, Long> reservados = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                reservados.put(ids[i], bytes[i]);
+            }
+        }
+        return reservados;
+    }
+
+    /*
+     * Suma de los picos de cada zona del heap desde el ultimo reinicio. Las zonas pueden llegar a su pico en
+     * momentos distintos, asi que es una cota superior del pico real.
+     */
+    private static long picoHeap(boolean reiniciar) {
+        long pico = 0;
+        for (MemoryPoolMXBean zona : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (zona.getType() == MemoryType.HEAP && zona.isValid()) {
+                pico += zona.getPeakUsage().getUsed();
+                if (reiniciar) {
+                    zona.resetPeakUsage();
+                }
+            }
+        }
+        return pico;
+    }
+
+    /*
+     * Fase en curso. Se termina con terminar, indicando cuantos vertices y lados proceso (0 si no aplica).
+     */
+    final class Fase {
+        private final String nombre;
+        private final EventoFase evento = new EventoFase();
+        private final Map<Long, Long> reservadosInicio;
+        private final long inicio;
+        private long nanos;
+        private long reservados;
+        private long vertices;
+        private long lados;
+        private long pico;
+
+        private Fase(String nombre) {
+            this.nombre = nombre;
+            picoHeap(true);
+            reservadosInicio = reservadosPorHilo();
+            evento.begin();
+            inicio = System.nanoTime();
+        }
+
+        void terminar(long vertices, long lados) {
+            nanos = System.nanoTime() - inicio;
+            evento.end();
+            for (Map.Entry<Long, Long> hilo : reservadosPorHilo().entrySet()) {
+                reservados += hilo.getValue() - reservadosInicio.getOrDefault(hilo.getKey(), 0L);
+            }
+            this.vertices = vertices;
+            this.lados = lados;
+            pico = picoHeap(false);
+            fases.add(this);
+
+            evento.fase = nombre;
+            evento.reservados = reservados;
+            evento.vertices = vertices;
+            evento.lados = lados;
+            evento.picoHeap = pico;
+            evento.commit();
+        }
+    }
+
+    @Name("kevinbacon.Fase")
+    @Label("Fase de KevinBacon")
+    @Category("KevinBacon")
+    static class EventoFase extends Event {
+        @Label("Fase")
+        String fase;
+
+        @Label("Bytes reservados")
+        @DataAmount
+        long reservados;
+
+        @Label("Vertices")
+        long vertices;
+
+        @Label("Lados")
+        long lados;
+
+        @Label("Pico del heap")
+        @DataAmount
+        long picoHeap;
+    }
+
+    @Name("kevinbacon.NivelBFS")
+    @Label("Nivel de un BFS")
+    @Category("KevinBacon")
+    static class EventoNivelBFS extends Event {
+        @Label("Centro")
+        String centro;
+
+        @Label("Nivel")
+        int nivel;
+
+        @Label("Vertices")
+        long vertices;
+    }
+}
@@ -0,0 +1,229 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import tad_grafo.BFSDireccional;
+import tad_grafo.InstantaneaGrafo;
+import tad_grafo.ResultadoCamino;
+
+/*
+ * Servidor HTTP local que responde consultas sobre un grafo ya construido, para no leer la entrada ni crear el
+ * grafo en cada consulta. Las consultas se hacen sobre la instantanea del grafo, que ninguna modifica, asi que
+ * todas la comparten sin sincronizacion. Las consultas se atienden en un pool con un hilo por procesador, y cada hilo
+ * reutiliza su espacio de trabajo de BFSBidireccional entre consultas: como cada espacio ocupa unos 40 bytes por
+ * vertice, el numero de hilos se mantiene fijo para que la memoria no crezca con las consultas simultaneas, que
+ * esperan en la cola del pool. Los caminos se obtienen de
+ * CadenasColaboracion, que guarda los ultimos pedidos y arma los que llegan a Kevin Bacon con las distancias a Kevin
+ * Bacon, sin buscarlos. Si la instantanea guarda las distancias a Kevin Bacon se usan directamente, sin hacer el BFS
+ * al iniciar, y quedan tambien como la primera tabla de TablasDistancias.
+ *
+ * Consultas (las respuestas son texto plano, con el mismo formato de KevinBacon):
+ * GET /nkb?actor=A                   NKB de A respecto de Kevin Bacon
+ * GET /nkb?actor=A&centro=C          NKB de A respecto de C, con las distancias de C guardadas en TablasDistancias
+ * GET /distancia?desde=A&hasta=B     NKB de B respecto de A
+ * GET /camino?desde=A&hasta=B        cadena de peliculas que une a A con B
+ * GET /cadena?actor=A                cadena de peliculas que une a A con Kevin Bacon
+ * GET /metricas                      aciertos, fallos y ocupacion del cache de TablasDistancias
+ */
+public class ServidorKevinBacon {
+    /*
+     * Numero maximo de caminos recientes que se guardan.
+     */
+    private static final int CAPACIDAD_CADENAS = 4096;
+
+    /*
+     * Maximo de bytes de las tablas de distancias de los centros consultados.
+     */
+    private static final long CAPACIDAD_TABLAS = 64L << 20;
+
+    private final InstantaneaGrafo grafo;
+    private final int saltosPorNKB;
+
+    /*
+     * Distancias de cada vertice a Kevin Bacon, de la instantanea o calculadas una sola vez al crear el servidor.
+     */
+    private final int[] distanciasKevinBacon;
+
+    private final CadenasColaboracion cadenas;
+
+    private final TablasDistancias tablas;
+
+    /*
+     * Pre-Condicion: Los vertices principales del grafo son los actores/actrices.
+     * Post-Condicion: Servidor listo para iniciar.
+     */
+    public ServidorKevinBacon(InstantaneaGrafo grafo, int saltosPorNKB) {
+        this.grafo = grafo;
+        this.saltosPorNKB = saltosPorNKB;
+
+        int kevinBacon = indiceActor(KevinBacon.KEVIN_BACON);
+        if (kevinBacon >= 0 && grafo.getRaiz() == kevinBacon) {
+            distanciasKevinBacon = grafo.getDistancias();
+        } else if (kevinBacon >= 0) {
+            distanciasKevinBacon = BFSDireccional.BFS(grafo.adyacencia(), kevinBacon).getDistancias();
+        } else {
+            distanciasKevinBacon = new int[grafo.numeroDeVertices()];
+            Arrays.fill(distanciasKevinBacon, -1);
+        }
+        cadenas = new CadenasColaboracion(grafo, saltosPorNKB, kevinBacon, distanciasKevinBacon, CAPACIDAD_CADENAS);
+        tablas = new TablasDistancias(grafo.adyacencia(), grafo.numeroDePrincipales(), CAPACIDAD_TABLAS);
+        if (kevinBacon >= 0) {
+            tablas.sembrar(kevinBacon, distanciasKevinBacon);
+        }
+    }
+
+    /*
+     * Se empieza a atender consultas en el puerto indicado de la interfaz local. El metodo retorna
+     * inmediatamente; el servidor sigue activo en sus propios hilos.
+     */
+    public HttpServer iniciar(int puerto) throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        servidor.createContext("/nkb", intercambio -> atender(intercambio, this::nkb));
+        servidor.createContext("/distancia", intercambio -> atender(intercambio, this::distancia));
+        servidor.createContext("/camino", intercambio -> atender(intercambio, this::camino));
+        servidor.createContext("/cadena", intercambio -> atender(intercambio, this::cadena));
+        servidor.createContext("/metricas", intercambio -> atender(intercambio, parametros -> tablas.metricas()));
+        servidor.setExecutor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+        servidor.start();
+        return servidor;
+    }
+
+    private String nkb(Map<String, String> parametros) {
+        String actor = requerido(parametros, "actor");
+        String centro = parametros.get("centro");
+        if (centro == null) {
+            return actor + " : " + numero(distanciasKevinBacon[indiceRequerido(actor)]);
+        }
+        int indice = indiceRequerido(actor);
+        return actor + " : " + numero(tablas.distancias(indiceRequerido(centro)).distancia(indice));
+    }
+
+    /*
+     * Si las distancias de alguno de los dos extremos ya estan en TablasDistancias se leen de ahi; si no, se busca
+     * el camino desde ambos extremos con CadenasColaboracion. Esta consulta nunca agrega tablas al cache, para que
+     * los pares al azar no hagan un BFS completo ni expulsen a los centros consultados con frecuencia.
+     */
+    private String distancia(Map<String, String> parametros) {
+        int desde = indiceRequerido(requerido(parametros, "desde"));
+        int hasta = indiceRequerido(requerido(parametros, "hasta"));
+        TablasDistancias.Tabla tabla = tablas.guardada(desde);
+        if (tabla != null) {
+            return numero(tabla.distancia(hasta));
+        }
+        tabla = tablas.guardada(hasta);
+        if (tabla != null) {
+            return numero(tabla.distancia(desde));
+        }
+        return numero(cadenas.camino(desde, hasta).getDistancia());
+    }
+
+    private String camino(Map<String, String> parametros) {
+        return cadenas.texto(buscarCamino(parametros));
+    }
+
+    private String cadena(Map<String, String> parametros) {
+        return cadenas.texto(cadenas.caminoAlCentro(indiceRequerido(requerido(parametros, "actor"))));
+    }
+
+    private ResultadoCamino buscarCamino(Map<String, String> parametros) {
+        String desde = requerido(parametros, "desde");
+        String hasta = requerido(parametros, "hasta");
+        return cadenas.camino(indiceRequerido(desde), indiceRequerido(hasta));
+    }
+
+    /*
+     * Se convierte una distancia en saltos al NKB que se imprime, o "infinito" si es -1.
+     */
+    private String numero(int distancia) {
+        return distancia < 0 ? "infinito" : String.valueOf((double) (distancia / saltosPorNKB));
+    }
+
+    /*
+     * Posicion del vertice de un actor/actriz, o -1 si no esta en la entrada. En el grafo bipartito los vertices
+     * de las peliculas no cuentan como actores.
+     */
+    private int indiceActor(String nombre) {
+        int indice = grafo.indiceVertice(nombre);
+        return indice < grafo.numeroDePrincipales() ? indice : -1;
+    }
+
+    private int indiceRequerido(String nombre) {
+        int indice = indiceActor(nombre);
+        if (indice < 0) {
+            throw new NoSuchElementException(nombre + " no esta en la entrada");
+        }
+        return indice;
+    }
+
+    /*
+     * Se responde una consulta: 200 con el resultado, 400 si faltan parametros, 404 si algun actor/actriz no
+     * esta en la entrada, 405 si el metodo no es GET y 500 si la consulta falla por otro motivo, para que la
+     * conexion siempre reciba una respuesta.
+     */
+    private void atender(HttpExchange intercambio, Consulta consulta) throws IOException {
+        int estado = 200;
+        String respuesta;
+        if (!intercambio.getRequestMethod().equals("GET")) {
+            estado = 405;
+            respuesta = "Solo se aceptan consultas GET";
+        } else {
+            try {
+                respuesta = consulta.responder(parametros(intercambio.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                estado = 400;
+                respuesta = e.getMessage();
+            } catch (NoSuchElementException e) {
+                estado = 404;
+                respuesta = e.getMessage();
+            } catch (RuntimeException e) {
+                estado = 500;
+                respuesta = "Error interno: " + e;
+            }
+        }
+
+        byte[] cuerpo = (respuesta + "\n").getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        intercambio.sendResponseHeaders(estado, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    private static String requerido(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el parametro " + nombre);
+        }
+        return valor;
+    }
+
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    private interface Consulta {
+        String responder(Map<String, String> parametros);
+    }
+}
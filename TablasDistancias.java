@@ -0,0 +1,200 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import tad_grafo.AdyacenciaCSR;
+import tad_grafo.BFSDireccional;
+
+/*
+ * Cache de las distancias desde los centros consultados con mas frecuencia, para no hacer un BFS completo cada vez
+ * que se repite un centro. Solo se guardan las distancias a los vertices principales (los actores/actrices; en el
+ * grafo bipartito las peliculas no se consultan), en un byte por vertice (255 es infinito), que alcanza mientras el
+ * diametro sea menor que 255 saltos; si no, esa tabla se guarda con un int por vertice. El cache esta acotado por el
+ * total de bytes de sus tablas y expulsa la usada hace mas tiempo.
+ *
+ * Si varios hilos piden a la vez un centro que no esta en el cache, solo el primero hace el BFS y los demas esperan
+ * su resultado. Se cuentan los aciertos, los fallos (los BFS hechos), las consultas que esperaron el BFS de otro hilo
+ * y las tablas expulsadas.
+ */
+final class TablasDistancias {
+    private static final int INFINITO = 255;
+
+    private final AdyacenciaCSR adyacencia;
+    private final int principales;
+    private final long capacidad;
+
+    /*
+     * Tablas por posicion del centro, en orden de acceso: la primera es la usada hace mas tiempo.
+     */
+    private final LinkedHashMap<Integer, Tabla> recientes = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    /*
+     * BFS en curso por posicion del centro.
+     */
+    private final ConcurrentHashMap<Integer, CompletableFuture<Tabla>> calculando = new ConcurrentHashMap<>();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder esperas = new LongAdder();
+    private final LongAdder expulsadas = new LongAdder();
+
+    /*
+     * Pre-Condicion: adyacencia simetrica, con los principales vertices principales en las primeras posiciones;
+     * capacidad en bytes. Una tabla mas grande que la capacidad se calcula pero no se guarda.
+     * Post-Condicion: Cache vacio.
+     */
+    TablasDistancias(AdyacenciaCSR adyacencia, int principales, long capacidad) {
+        this.adyacencia = adyacencia;
+        this.principales = principales;
+        this.capacidad = capacidad;
+    }
+
+    /*
+     * Se obtienen las distancias desde un centro, del cache o con un BFS.
+     */
+    Tabla distancias(int raiz) {
+        Tabla tabla = enCache(raiz);
+        if (tabla != null) {
+            aciertos.increment();
+            return tabla;
+        }
+
+        CompletableFuture<Tabla> nuevo = new CompletableFuture<>();
+        CompletableFuture<Tabla> enCurso = calculando.putIfAbsent(raiz, nuevo);
+        if (enCurso != null) {
+            esperas.increment();
+            return enCurso.join();
+        }
+        try {
+            // Otro hilo pudo terminar el mismo BFS entre la consulta al cache y putIfAbsent: lo guarda antes de
+            // quitarse de calculando, asi que ya esta en el cache.
+            tabla = enCache(raiz);
+            if (tabla != null) {
+                aciertos.increment();
+            } else {
+                fallos.increment();
+                tabla = new Tabla(BFSDireccional.BFS(adyacencia, raiz).getDistancias(), principales);
+                guardar(raiz, tabla);
+            }
+            nuevo.complete(tabla);
+            return tabla;
+        } catch (RuntimeException | Error e) {
+            nuevo.completeExceptionally(e);
+            throw e;
+        } finally {
+            calculando.remove(raiz, nuevo);
+        }
+    }
+
+    /*
+     * Se obtienen las distancias desde un centro solo si ya estan en el cache, sin hacer el BFS si no estan.
+     * Post-Condicion: Retorna la tabla, o null si el centro no esta en el cache.
+     */
+    Tabla guardada(int raiz) {
+        Tabla tabla = enCache(raiz);
+        if (tabla != null) {
+            aciertos.increment();
+        }
+        return tabla;
+    }
+
+    /*
+     * Se guardan en el cache las distancias desde un centro que ya se conocen, por ejemplo las que trae la
+     * instantanea, sin hacer el BFS ni contarlo como fallo.
+     * Pre-Condicion: distancias son las distancias desde raiz a cada vertice, con -1 en los no alcanzables.
+     */
+    void sembrar(int raiz, int[] distancias) {
+        guardar(raiz, new Tabla(distancias, principales));
+    }
+
+    private Tabla enCache(int raiz) {
+        synchronized (recientes) {
+            return recientes.get(raiz);
+        }
+    }
+
+    /*
+     * Se guarda una tabla y se expulsan las usadas hace mas tiempo hasta volver a la capacidad.
+     */
+    private void guardar(int raiz, Tabla tabla) {
+        if (tabla.bytes() > capacidad) {
+            return;
+        }
+        synchronized (recientes) {
+            Tabla anterior = recientes.put(raiz, tabla);
+            bytes += tabla.bytes() - (anterior == null ? 0 : anterior.bytes());
+            Iterator<Map.Entry<Integer, Tabla>> masAntiguas = recientes.entrySet().iterator();
+            while (bytes > capacidad) {
+                Tabla expulsada = masAntiguas.next().getValue();
+                masAntiguas.remove();
+                bytes -= expulsada.bytes();
+                expulsadas.increment();
+            }
+        }
+    }
+
+    /*
+     * Se resumen las metricas del cache, una por linea.
+     */
+    String metricas() {
+        int tablas;
+        long enUso;
+        synchronized (recientes) {
+            tablas = recientes.size();
+            enUso = bytes;
+        }
+        return "aciertos " + aciertos.sum() + "\n"
+                + "fallos " + fallos.sum() + "\n"
+                + "esperas " + esperas.sum() + "\n"
+                + "expulsadas " + expulsadas.sum() + "\n"
+                + "tablas " + tablas + "\n"
+                + "bytes " + enUso + "\n"
+                + "capacidad " + capacidad;
+    }
+
+    /*
+     * Distancias desde un centro a cada vertice principal, por posicion.
+     */
+    static final class Tabla {
+        private final byte[] compactas;
+        private final int[] enteras;
+
+        private Tabla(int[] distancias, int principales) {
+            int mayor = -1;
+            for (int v = 0; v < principales; v++) {
+                mayor = Math.max(mayor, distancias[v]);
+            }
+            if (mayor >= INFINITO) {
+                compactas = null;
+                enteras = principales == distancias.length ? distancias : Arrays.copyOf(distancias, principales);
+                return;
+            }
+            compactas = new byte[principales];
+            for (int v = 0; v < principales; v++) {
+                compactas[v] = (byte) (distancias[v] < 0 ? INFINITO : distancias[v]);
+            }
+            enteras = null;
+        }
+
+        /*
+         * Pre-Condicion: v es la posicion de un vertice principal.
+         * Post-Condicion: Retorna la distancia al vertice, o -1 si no esta conectado con el centro.
+         */
+        int distancia(int v) {
+            if (enteras != null) {
+                return enteras[v];
+            }
+            int distancia = compactas[v] & 0xFF;
+            return distancia == INFINITO ? -1 : distancia;
+        }
+
+        long bytes() {
+            return compactas != null ? compactas.length : 4L * enteras.length;
+        }
+    }
+}
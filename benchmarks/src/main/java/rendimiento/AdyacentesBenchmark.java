@@ -0,0 +1,60 @@
+package rendimiento;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tad_grafo.GrafoNoDirigido;
+import tad_grafo.Vertice;
+
+/**
+ * Consulta de adyacentes de un vértice al azar, con el grafo congelado (CSR) y
+ * sin congelar (recorriendo la lista de aristas).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class AdyacentesBenchmark {
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    @Param({ "true", "false" })
+    public boolean congelado;
+
+    private GrafoNoDirigido grafo;
+    private String[] consultas;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void generar() {
+        grafo = Datos.grafoNoDirigido(vertices);
+        if (congelado)
+            grafo.congelar();
+        Random aleatorio = new Random(Datos.SEMILLA);
+        consultas = new String[1024];
+        for (int i = 0; i < consultas.length; i++)
+            consultas[i] = String.valueOf(aleatorio.nextInt(vertices));
+    }
+
+    @Benchmark
+    public List<Vertice> adyacentes() {
+        siguiente = (siguiente + 1) & (consultas.length - 1);
+        return grafo.adyacentes(consultas[siguiente]);
+    }
+}
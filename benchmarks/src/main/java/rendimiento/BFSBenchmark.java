@@ -0,0 +1,77 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tad_grafo.BFSDireccional;
+import tad_grafo.BFSParalelo;
+import tad_grafo.GrafoFueraDelHeap;
+import tad_grafo.GrafoNoDirigido;
+import tad_grafo.InstantaneaGrafo;
+import tad_grafo.ResultadoBFS;
+
+/**
+ * Búsquedas en anchura sobre grafos aleatorios congelados: la secuencial de
+ * GrafoNoDirigido, la que optimiza la dirección, la paralela y la de
+ * GrafoFueraDelHeap sobre una instantánea del mismo grafo. Los grafos se
+ * crean y se congelan una sola vez por tamaño.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class BFSBenchmark {
+    @Param({ "10000", "100000", "1000000" })
+    public int vertices;
+
+    private GrafoNoDirigido grafo;
+    private GrafoFueraDelHeap fueraDelHeap;
+
+    @Setup(Level.Trial)
+    public void generar() throws IOException {
+        grafo = Datos.grafoNoDirigido(vertices);
+        grafo.congelar();
+
+        Path instantanea = Files.createTempFile("grafo", ".nkbg");
+        instantanea.toFile().deleteOnExit();
+        InstantaneaGrafo.de(grafo, vertices, 0).escribir(instantanea);
+        fueraDelHeap = GrafoFueraDelHeap.abrir(instantanea);
+    }
+
+    @Benchmark
+    public ResultadoBFS grafoNoDirigido() {
+        return GrafoNoDirigido.BFS(grafo, 0);
+    }
+
+    @Benchmark
+    public ResultadoBFS direccional() {
+        return BFSDireccional.BFS(grafo, 0);
+    }
+
+    @Benchmark
+    public ResultadoBFS paralelo() {
+        return BFSParalelo.BFS(grafo, 0);
+    }
+
+    @Benchmark
+    public ResultadoBFS fueraDelHeap() {
+        return GrafoFueraDelHeap.BFS(fueraDelHeap, 0);
+    }
+}
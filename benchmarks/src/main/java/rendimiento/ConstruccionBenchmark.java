@@ -0,0 +1,87 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tad_grafo.GrafoNoDirigido;
+import tad_grafo.TablaSimbolos;
+
+/**
+ * Construcción de un grafo no dirigido con agregarVertice y agregarArista, por
+ * id y por símbolo, y su congelamiento en formato CSR.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class ConstruccionBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int vertices;
+
+    private String[] ids;
+    private int[] simbolos;
+    private String[] idsLados;
+    private int[] simbolosLados;
+    private int[] extremos;
+
+    @Setup(Level.Trial)
+    public void generar() {
+        extremos = Datos.extremos(vertices);
+        ids = new String[vertices];
+        simbolos = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            ids[i] = String.valueOf(i);
+            simbolos[i] = TablaSimbolos.global().agregar(ids[i]);
+        }
+        idsLados = new String[extremos.length / 2];
+        simbolosLados = new int[idsLados.length];
+        for (int l = 0; l < idsLados.length; l++) {
+            idsLados[l] = "a" + l;
+            simbolosLados[l] = TablaSimbolos.global().agregar(idsLados[l]);
+        }
+    }
+
+    @Benchmark
+    public GrafoNoDirigido agregarAristaPorId() {
+        GrafoNoDirigido grafo = GrafoNoDirigido.crearGrafoNoDirigido();
+        for (String id : ids)
+            grafo.agregarVertice(id, 0);
+        for (int l = 0; l < idsLados.length; l++)
+            grafo.agregarArista(idsLados[l], 0, ids[extremos[2 * l]], ids[extremos[2 * l + 1]]);
+        return grafo;
+    }
+
+    @Benchmark
+    public GrafoNoDirigido agregarAristaPorSimbolo() {
+        GrafoNoDirigido grafo = GrafoNoDirigido.crearGrafoNoDirigido();
+        for (int simbolo : simbolos)
+            grafo.agregarVertice(simbolo, 0);
+        for (int l = 0; l < simbolosLados.length; l++)
+            grafo.agregarArista(simbolosLados[l], 0, simbolos[extremos[2 * l]], simbolos[extremos[2 * l + 1]]);
+        return grafo;
+    }
+
+    /**
+     * Construcción por símbolo seguida del congelamiento, como en KevinBacon.
+     */
+    @Benchmark
+    public GrafoNoDirigido construirYCongelar() {
+        GrafoNoDirigido grafo = agregarAristaPorSimbolo();
+        grafo.congelar();
+        return grafo;
+    }
+}
@@ -0,0 +1,94 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import imdb.GeneradorIMDB;
+import tad_grafo.Arco;
+import tad_grafo.Arista;
+import tad_grafo.Digrafo;
+import tad_grafo.GrafoNoDirigido;
+import tad_grafo.Vertice;
+
+/**
+ * Datos generados para las pruebas de rendimiento. Todo se genera a partir de
+ * una semilla fija, para que cada ejecución mida exactamente lo mismo.
+ */
+final class Datos {
+    static final long SEMILLA = 42;
+
+    /**
+     * Grado medio de los grafos aleatorios.
+     */
+    static final int GRADO_MEDIO = 8;
+
+    private Datos() {
+    }
+
+    /**
+     * Extremos de los lados de un grafo aleatorio: el lado l une a
+     * extremos[2 l] con extremos[2 l + 1]. No hay lazos ni lados repetidos.
+     */
+    static int[] extremos(int nVertices) {
+        Random aleatorio = new Random(SEMILLA);
+        int nLados = nVertices * GRADO_MEDIO / 2;
+        HashSet<Long> vistos = new HashSet<>();
+        int[] extremos = new int[2 * nLados];
+        for (int l = 0; l < nLados;) {
+            int u = aleatorio.nextInt(nVertices);
+            int v = aleatorio.nextInt(nVertices);
+            if (u == v || !vistos.add((long) Math.min(u, v) * nVertices + Math.max(u, v)))
+                continue;
+            extremos[2 * l] = u;
+            extremos[2 * l + 1] = v;
+            l++;
+        }
+        return extremos;
+    }
+
+    /**
+     * Grafo no dirigido aleatorio con vértices "0", "1", ... creado con el
+     * constructor, sin pasar por agregarArista.
+     */
+    static GrafoNoDirigido grafoNoDirigido(int nVertices) {
+        List<Vertice> vertices = new ArrayList<>(nVertices);
+        for (int i = 0; i < nVertices; i++)
+            vertices.add(new Vertice(String.valueOf(i), 0));
+        int[] extremos = extremos(nVertices);
+        List<Arista> aristas = new ArrayList<>(extremos.length / 2);
+        for (int l = 0; l < extremos.length / 2; l++)
+            aristas.add(new Arista("a" + l, 0, vertices.get(extremos[2 * l]), vertices.get(extremos[2 * l + 1])));
+        return new GrafoNoDirigido(nVertices, aristas.size(), vertices, aristas);
+    }
+
+    /**
+     * Digrafo aleatorio con vértices "0", "1", ... creado con el
+     * constructor.
+     */
+    static Digrafo digrafo(int nVertices) {
+        List<Vertice> vertices = new ArrayList<>(nVertices);
+        for (int i = 0; i < nVertices; i++)
+            vertices.add(new Vertice(String.valueOf(i), 0));
+        int[] extremos = extremos(nVertices);
+        List<Arco> arcos = new ArrayList<>(extremos.length / 2);
+        for (int l = 0; l < extremos.length / 2; l++)
+            arcos.add(new Arco("a" + l, 0, vertices.get(extremos[2 * l]), vertices.get(extremos[2 * l + 1])));
+        return new Digrafo(nVertices, arcos.size(), vertices, arcos);
+    }
+
+    /**
+     * Escribe un archivo de créditos "actor|película" generado con
+     * GeneradorIMDB, en un archivo temporal que se borra al terminar la JVM.
+     */
+    static Path creditos(int nLineas) throws IOException {
+        Path archivo = Files.createTempFile("creditos", ".txt");
+        archivo.toFile().deleteOnExit();
+        new GeneradorIMDB(nLineas, SEMILLA).escribir(archivo);
+        return archivo;
+    }
+}
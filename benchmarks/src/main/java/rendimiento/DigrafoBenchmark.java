@@ -0,0 +1,72 @@
+package rendimiento;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tad_grafo.ComponentesFuertes;
+import tad_grafo.Digrafo;
+import tad_grafo.ResultadoBFS;
+import tad_grafo.Vertice;
+
+/**
+ * Búsquedas en anchura de Digrafo: la que arma los caminos desde el primer
+ * vértice y las que solo calculan distancias y padres, hacia adelante y hacia
+ * atrás; y las componentes fuertemente conexas, secuenciales y en paralelo.
+ * El digrafo se congela una sola vez por tamaño.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class DigrafoBenchmark {
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    private Digrafo digrafo;
+
+    @Setup(Level.Trial)
+    public void generar() {
+        digrafo = Datos.digrafo(vertices);
+        digrafo.congelar();
+    }
+
+    @Benchmark
+    public List<List<Vertice>> bfs() {
+        return Digrafo.BFS(digrafo);
+    }
+
+    @Benchmark
+    public ResultadoBFS bfsPorPosicion() {
+        return Digrafo.BFS(digrafo, 0);
+    }
+
+    @Benchmark
+    public ResultadoBFS bfsInverso() {
+        return Digrafo.BFSInverso(digrafo, 0);
+    }
+
+    @Benchmark
+    public int[] componentesFuertes() {
+        return ComponentesFuertes.componentes(digrafo);
+    }
+
+    @Benchmark
+    public int[] componentesFuertesParalelo() {
+        return ComponentesFuertes.componentesParalelo(digrafo);
+    }
+}
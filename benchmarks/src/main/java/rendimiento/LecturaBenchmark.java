@@ -0,0 +1,64 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import imdb.LectorIMDB;
+import imdb.ListasIMDB;
+
+/**
+ * Lectura de archivos de créditos con LectorIMDB, que es lo que hace
+ * KevinBacon.convertirInput (KevinBacon está en el paquete por defecto y no se
+ * puede llamar desde aquí). Además del tiempo por archivo se reporta el
+ * contador "bytes", que JMH convierte en bytes leídos por segundo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class LecturaBenchmark {
+    @Param({ "10000", "100000", "1000000" })
+    public int lineas;
+
+    private Path archivo;
+    private long tamano;
+
+    @Setup(Level.Trial)
+    public void generar() throws IOException {
+        archivo = Datos.creditos(lineas);
+        tamano = Files.size(archivo);
+    }
+
+    /**
+     * Bytes leídos, acumulados por JMH como un contador de operaciones.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Contadores {
+        public long bytes;
+    }
+
+    @Benchmark
+    public ListasIMDB leer(Contadores contadores) throws IOException {
+        contadores.bytes += tamano;
+        return LectorIMDB.leer(archivo.toString());
+    }
+}
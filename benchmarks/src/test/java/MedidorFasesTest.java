@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Verifica el resumen de MedidorFases: una linea por fase, el total, los niveles de los BFS y las anotaciones, y
+ * que sin --medir no se imprima nada.
+ */
+class MedidorFasesTest {
+
+    /*
+     * Se ejecuta el medidor con dos fases, un BFS y una anotacion.
+     * Post-Condicion: Retorna las lineas que imprimio por la salida de error.
+     */
+    private static String[] resumen(boolean imprimir) {
+        PrintStream error = System.err;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(salida, true, StandardCharsets.UTF_8));
+        try {
+            MedidorFases medidor = new MedidorFases(imprimir);
+            medidor.iniciar("lectura").terminar(0, 0);
+            medidor.iniciar("bfs").terminar(5, 8);
+            medidor.nivelesBFS("Bacon, Kevin", new int[] {1, 0, 2, 1, -1, 1});
+            medidor.anotar("Componentes conexas: 2");
+            medidor.imprimirResumen();
+        } finally {
+            System.setErr(error);
+        }
+        String texto = salida.toString(StandardCharsets.UTF_8);
+        return texto.isEmpty() ? new String[0] : texto.split("\\R");
+    }
+
+    @Test
+    void imprimeFasesNivelesYNotas() {
+        String[] lineas = resumen(true);
+        assertEquals(6, lineas.length);
+        assertTrue(lineas[0].startsWith("Fase "), lineas[0]);
+        assertTrue(lineas[1].startsWith("lectura "), lineas[1]);
+        assertTrue(lineas[2].startsWith("bfs "), lineas[2]);
+        assertTrue(lineas[3].startsWith("total "), lineas[3]);
+        assertEquals("Niveles del BFS desde Bacon, Kevin: 1 3 1", lineas[4]);
+        assertEquals("Componentes conexas: 2", lineas[5]);
+    }
+
+    @Test
+    void sinMedirNoImprimeNada() {
+        assertEquals(0, resumen(false).length);
+    }
+}
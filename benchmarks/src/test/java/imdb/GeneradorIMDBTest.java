@@ -0,0 +1,89 @@
+package imdb;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica que la salida de GeneradorIMDB dependa solo de sus parametros, que
+ * tenga el formato de la entrada de KevinBacon y que Kevin Bacon quede en el
+ * grafo principal, separado de las componentes aisladas.
+ */
+class GeneradorIMDBTest {
+
+  private static byte[] generar(long lineas, long semilla, int componentesAisladas, int actoresPorComponente)
+      throws IOException {
+    ByteArrayOutputStream salida = new ByteArrayOutputStream();
+    new GeneradorIMDB(lineas, semilla, componentesAisladas, actoresPorComponente).escribir(salida);
+    return salida.toByteArray();
+  }
+
+  private static String[] lineas(byte[] creditos) {
+    return new String(creditos, StandardCharsets.UTF_8).split("\n");
+  }
+
+  /**
+   * Representante de un nombre en unos conjuntos disjuntos sobre Strings.
+   */
+  private static String raiz(Map<String, String> padres, String nombre) {
+    String padre = padres.putIfAbsent(nombre, nombre);
+    while (padre != null && !padre.equals(nombre)) {
+      nombre = padre;
+      padre = padres.get(nombre);
+    }
+    return nombre;
+  }
+
+  @Test
+  void mismaSemillaMismaSalida() throws IOException {
+    assertArrayEquals(generar(20_000, 7, 2, 5), generar(20_000, 7, 2, 5));
+    assertFalse(Arrays.equals(generar(20_000, 7, 2, 5), generar(20_000, 8, 2, 5)));
+  }
+
+  @Test
+  void formatoYNumeroDeLineas() throws IOException {
+    String[] lineas = lineas(generar(20_000, 7, 0, 0));
+    assertEquals(20_000, lineas.length);
+    for (String linea : lineas) {
+      int separador = linea.indexOf('|');
+      assertTrue(separador > 0 && separador < linea.length() - 1, linea);
+      assertEquals(-1, linea.indexOf('|', separador + 1), linea);
+    }
+  }
+
+  @Test
+  void kevinBaconEnElGrafoPrincipal() throws IOException {
+    String[] lineas = lineas(generar(20_000, 7, 3, 4));
+    Map<String, String> padres = new HashMap<>();
+    for (String linea : lineas) {
+      String[] campos = linea.split("\\|");
+      String actor = raiz(padres, campos[0]);
+      String pelicula = raiz(padres, "#" + campos[1]);
+      if (!actor.equals(pelicula))
+        padres.put(actor, pelicula);
+    }
+
+    Set<String> componentes = new HashSet<>();
+    for (String nombre : padres.keySet())
+      componentes.add(raiz(padres, nombre));
+    assertEquals(1 + 3, componentes.size());
+
+    String kevinBacon = raiz(padres, GeneradorIMDB.KEVIN_BACON);
+    for (String linea : lineas) {
+      String actor = linea.substring(0, linea.indexOf('|'));
+      assertEquals(!actor.startsWith("Actor aislado "), raiz(padres, actor).equals(kevinBacon), actor);
+    }
+  }
+}
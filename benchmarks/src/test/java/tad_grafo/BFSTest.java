@@ -0,0 +1,119 @@
+package tad_grafo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compara las variantes optimizadas del BFS (BFSDireccional, BFSParalelo y
+ * BFSBidireccional) con GrafoNoDirigido.BFS, sobre un grafo aleatorio con una
+ * componente grande, para que se usen los niveles de abajo hacia arriba y los
+ * bloques en paralelo, y sobre otro con muchas componentes chicas.
+ */
+class BFSTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void crearPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void cerrarPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Grafo no dirigido aleatorio con vértices "prefijo0", "prefijo1", ... y
+     * el número de lados indicado, que puede tener lazos y lados repetidos
+     * (agregarArista descarta los repetidos).
+     */
+    private static GrafoNoDirigido aleatorio(String prefijo, int nVertices, int nLados, long semilla) {
+        Random aleatorio = new Random(semilla);
+        GrafoNoDirigido grafo = GrafoNoDirigido.crearGrafoNoDirigido();
+        for (int i = 0; i < nVertices; i++)
+            grafo.agregarVertice(prefijo + i, 0);
+        for (int l = 0; l < nLados; l++) {
+            grafo.agregarArista(prefijo + "-" + l, 0, prefijo + aleatorio.nextInt(nVertices),
+                    prefijo + aleatorio.nextInt(nVertices));
+        }
+        return grafo;
+    }
+
+    private static void compararConBFS(GrafoNoDirigido grafo, long semilla) {
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int n = adyacencia.numeroDeVertices();
+        Random aleatorio = new Random(semilla);
+        for (int i = 0; i < 5; i++) {
+            int raiz = aleatorio.nextInt(n);
+            int[] esperadas = GrafoNoDirigido.BFS(grafo, raiz).getDistancias();
+
+            ResultadoBFS direccional = BFSDireccional.BFS(adyacencia, raiz);
+            assertArrayEquals(esperadas, direccional.getDistancias(), "BFSDireccional desde " + raiz);
+            verificarPadres(adyacencia, direccional);
+
+            ResultadoBFS paralelo = BFSParalelo.BFS(adyacencia, raiz, pool);
+            assertArrayEquals(esperadas, paralelo.getDistancias(), "BFSParalelo desde " + raiz);
+            verificarPadres(adyacencia, paralelo);
+
+            for (int j = 0; j < 20; j++) {
+                int destino = aleatorio.nextInt(n);
+                ResultadoCamino camino = BFSBidireccional.camino(adyacencia, raiz, destino);
+                assertEquals(esperadas[destino], camino.getDistancia(), "BFSBidireccional " + raiz + "-" + destino);
+                if (camino.hayCamino())
+                    verificarCamino(adyacencia, camino, raiz, destino);
+            }
+        }
+    }
+
+    /**
+     * El padre de cada vértice alcanzado es un vecino suyo un nivel más cerca
+     * de la raíz.
+     */
+    private static void verificarPadres(AdyacenciaCSR adyacencia, ResultadoBFS resultado) {
+        int[] distancias = resultado.getDistancias();
+        int[] padres = resultado.getPadres();
+        for (int v = 0; v < distancias.length; v++) {
+            if (distancias[v] <= 0)
+                continue;
+            assertEquals(distancias[v] - 1, distancias[padres[v]]);
+            assertTrue(sonVecinos(adyacencia, v, padres[v]));
+        }
+    }
+
+    private static void verificarCamino(AdyacenciaCSR adyacencia, ResultadoCamino camino, int origen, int destino) {
+        int[] vertices = camino.getVertices();
+        assertEquals(camino.getDistancia() + 1, vertices.length);
+        assertEquals(origen, vertices[0]);
+        assertEquals(destino, vertices[vertices.length - 1]);
+        for (int i = 1; i < vertices.length; i++)
+            assertTrue(sonVecinos(adyacencia, vertices[i - 1], vertices[i]));
+    }
+
+    private static boolean sonVecinos(AdyacenciaCSR adyacencia, int u, int v) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+            if (vecinos[k] == v)
+                return true;
+        }
+        return false;
+    }
+
+    @Test
+    void coincidenEnUnaComponenteGrande() {
+        compararConBFS(aleatorio("g", 20_000, 80_000, 1), 2);
+    }
+
+    @Test
+    void coincidenConMuchasComponentes() {
+        compararConBFS(aleatorio("c", 5_000, 2_000, 3), 4);
+    }
+}
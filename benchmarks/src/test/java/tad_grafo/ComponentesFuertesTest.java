@@ -0,0 +1,142 @@
+package tad_grafo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compara componentesParalelo con componentes (Tarjan) y con la definición
+ * de componente fuertemente conexa, y verifica que la numeración sea un orden
+ * topológico y que la condensación no tenga ciclos.
+ */
+class ComponentesFuertesTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void crearPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void cerrarPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Digrafo con vértices "prefijo0", "prefijo1", ... y los arcos
+     * indicados por sus extremos.
+     */
+    private static Digrafo digrafo(String prefijo, int nVertices, int[] iniciales, int[] finales) {
+        List<Vertice> vertices = new ArrayList<>(nVertices);
+        for (int i = 0; i < nVertices; i++)
+            vertices.add(new Vertice(prefijo + i, 0));
+        List<Arco> arcos = new ArrayList<>(iniciales.length);
+        for (int a = 0; a < iniciales.length; a++) {
+            arcos.add(new Arco(prefijo + "-" + a, 0, vertices.get(iniciales[a]), vertices.get(finales[a])));
+        }
+        return new Digrafo(nVertices, arcos.size(), vertices, arcos);
+    }
+
+    private static Digrafo aleatorio(String prefijo, int nVertices, int nArcos, long semilla) {
+        Random aleatorio = new Random(semilla);
+        int[] iniciales = new int[nArcos];
+        int[] finales = new int[nArcos];
+        for (int a = 0; a < nArcos; a++) {
+            iniciales[a] = aleatorio.nextInt(nVertices);
+            finales[a] = aleatorio.nextInt(nVertices);
+        }
+        return digrafo(prefijo, nVertices, iniciales, finales);
+    }
+
+    /**
+     * Renumera las componentes en el orden en que aparecen por primera vez,
+     * para comparar dos asignaciones como particiones.
+     */
+    private static int[] particion(int[] componentes) {
+        int[] nuevos = new int[componentes.length];
+        Arrays.fill(nuevos, -1);
+        int[] particion = new int[componentes.length];
+        int siguiente = 0;
+        for (int v = 0; v < componentes.length; v++) {
+            if (nuevos[componentes[v]] < 0)
+                nuevos[componentes[v]] = siguiente++;
+            particion[v] = nuevos[componentes[v]];
+        }
+        return particion;
+    }
+
+    private static void verificarOrdenTopologico(Digrafo grafo, int[] componentes) {
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        for (int u = 0; u < componentes.length; u++) {
+            for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++)
+                assertTrue(componentes[u] <= componentes[vecinos[k]], "arco " + u + "->" + vecinos[k]);
+        }
+    }
+
+    private static void compararVersiones(Digrafo grafo) {
+        int[] secuencial = ComponentesFuertes.componentes(grafo);
+        int[] paralelo = ComponentesFuertes.componentesParalelo(grafo, pool);
+        assertEquals(ComponentesFuertes.numeroDeComponentes(secuencial),
+                ComponentesFuertes.numeroDeComponentes(paralelo));
+        assertEquals(Arrays.toString(particion(secuencial)), Arrays.toString(particion(paralelo)));
+        verificarOrdenTopologico(grafo, secuencial);
+        verificarOrdenTopologico(grafo, paralelo);
+
+        Digrafo condensacion = ComponentesFuertes.condensacion(grafo, paralelo);
+        assertEquals(ComponentesFuertes.numeroDeComponentes(paralelo), condensacion.vertices().size());
+        int[] componentesCondensacion = ComponentesFuertes.componentes(condensacion);
+        assertEquals(condensacion.vertices().size(), ComponentesFuertes.numeroDeComponentes(componentesCondensacion));
+    }
+
+    @Test
+    void coincidenConLaDefinicion() {
+        Digrafo grafo = aleatorio("d", 300, 400, 1);
+        int[] componentes = ComponentesFuertes.componentesParalelo(grafo, pool);
+        int n = componentes.length;
+        int[][] alcanzados = new int[n][];
+        for (int v = 0; v < n; v++)
+            alcanzados[v] = Digrafo.BFS(grafo, v).getDistancias();
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                boolean mismaComponente = alcanzados[u][v] >= 0 && alcanzados[v][u] >= 0;
+                assertEquals(mismaComponente, componentes[u] == componentes[v], u + " y " + v);
+            }
+        }
+    }
+
+    @Test
+    void coincidenEnUnDigrafoGrande() {
+        // Con 1.2 arcos por vértice hay una componente grande y muchas de un vértice.
+        compararVersiones(aleatorio("g", 50_000, 60_000, 2));
+    }
+
+    @Test
+    void coincidenEnUnCicloLargo() {
+        // Un ciclo de 100.000 vértices seguido de un camino: Tarjan no debe desbordar la pila.
+        int n = 100_000;
+        int[] iniciales = new int[2 * n];
+        int[] finales = new int[2 * n];
+        for (int v = 0; v < n; v++) {
+            iniciales[v] = v;
+            finales[v] = (v + 1) % n;
+        }
+        for (int v = n - 1; v < 2 * n - 1; v++) {
+            iniciales[v + 1] = v;
+            finales[v + 1] = v + 1;
+        }
+        Digrafo grafo = digrafo("l", 2 * n, iniciales, finales);
+        compararVersiones(grafo);
+        assertEquals(n + 1, ComponentesFuertes.numeroDeComponentes(ComponentesFuertes.componentes(grafo)));
+    }
+}
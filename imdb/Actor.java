@@ -2,12 +2,18 @@ package imdb;
 
 import java.util.ArrayList;
 
+import tad_grafo.TablaSimbolos;
+
 public class Actor {
-  private String nombre;
+  private int simbolo;
   private ArrayList<Pelicula> listaPeliculas;
 
   public Actor(String nombre, ArrayList<Pelicula> listaPeliculas) {
-    this.nombre = nombre;
+    this(TablaSimbolos.global().agregar(nombre), listaPeliculas);
+  }
+
+  public Actor(int simbolo, ArrayList<Pelicula> listaPeliculas) {
+    this.simbolo = simbolo;
     this.listaPeliculas = listaPeliculas;
   }
 
@@ -20,11 +26,15 @@ public class Actor {
   }
 
   public String getNombre() {
-    return nombre;
+    return TablaSimbolos.global().nombre(simbolo);
   }
 
   public void setNombre(String nombre) {
-    this.nombre = nombre;
+    this.simbolo = TablaSimbolos.global().agregar(nombre);
+  }
+
+  public int getSimbolo() {
+    return simbolo;
   }
 
   public static Actor buscarActor(String nombre, ArrayList<Actor> actores) {
@@ -32,4 +42,8 @@ public class Actor {
         .findAny()
         .orElse(null);
   }
+
+  public static Actor buscarActor(String nombre, DiccionarioSimbolos<Actor> actores) {
+    return actores.buscar(nombre);
+  }
 }
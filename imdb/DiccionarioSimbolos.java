@@ -0,0 +1,39 @@
+package imdb;
+
+import java.util.Arrays;
+
+import tad_grafo.TablaSimbolos;
+
+/**
+ * Diccionario de valores indexado por el simbolo del nombre en la tabla de
+ * simbolos global. No guarda los nombres, solo un arreglo de valores.
+ */
+public class DiccionarioSimbolos<T> {
+  private Object[] valores;
+  private int tamano;
+
+  public DiccionarioSimbolos() {
+    this.valores = new Object[16];
+  }
+
+  @SuppressWarnings("unchecked")
+  public T obtener(int simbolo) {
+    return simbolo >= 0 && simbolo < valores.length ? (T) valores[simbolo] : null;
+  }
+
+  public T buscar(String nombre) {
+    return obtener(TablaSimbolos.global().buscar(nombre));
+  }
+
+  public void agregar(int simbolo, T valor) {
+    if (simbolo >= valores.length)
+      valores = Arrays.copyOf(valores, Math.max(simbolo + 1, valores.length * 2));
+    if (valores[simbolo] == null)
+      tamano++;
+    valores[simbolo] = valor;
+  }
+
+  public int tamano() {
+    return tamano;
+  }
+}
@@ -0,0 +1,290 @@
+package imdb;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Genera archivos de creditos "nombreActor|nombrePelicula" con la forma de los
+ * datos reales, para pruebas de rendimiento y de carga:
+ *
+ * - El tamano de cada reparto sigue una ley de potencias (Pareto): la mayoria
+ * de las peliculas tiene pocos actores y unas pocas tienen cientos.
+ * - Los actores se eligen con una distribucion de ley de potencias sobre su
+ * numero, asi que unos pocos tienen filmografias enormes y la mayoria aparece
+ * en una o dos peliculas.
+ * - Cada pelicula incluye al menos un actor que ya aparecio antes, por lo que
+ * todos los actores del grafo principal forman una sola componente conexa. La
+ * primera pelicula incluye siempre a Kevin Bacon (I), asi que esta en ella.
+ * - Opcionalmente se agregan componentes aisladas, con actores y peliculas que
+ * no comparten nada con el resto y cuyo NKB debe ser infinito.
+ *
+ * La salida depende solo de los parametros y de la semilla. Los creditos se
+ * escriben a medida que se generan, asi que la memoria usada depende del
+ * numero de actores y no del numero de lineas.
+ */
+public class GeneradorIMDB {
+  /**
+   * Nombre que recibe uno de los actores del grafo principal.
+   */
+  public static final String KEVIN_BACON = "Kevin Bacon (I)";
+
+  /**
+   * Numero del actor que se llama Kevin Bacon: uno prolifico, pero no el que
+   * mas peliculas tiene.
+   */
+  private static final int NUMERO_KEVIN_BACON = 50;
+
+  /**
+   * Creditos por actor en promedio; fija el numero de actores del grafo
+   * principal a partir del numero de lineas.
+   */
+  private static final int CREDITOS_POR_ACTOR = 6;
+
+  private static final int REPARTO_MINIMO = 3;
+  private static final int REPARTO_MAXIMO = 2000;
+  private static final double EXPONENTE_REPARTO = 1.8;
+
+  /**
+   * Exponente con el que se eligen los actores: el numero de un actor es
+   * nActores * u^EXPONENTE_ACTORES, con u uniforme en [0, 1), lo que concentra
+   * los creditos en los numeros bajos.
+   */
+  private static final double EXPONENTE_ACTORES = 2.5;
+
+  private static final byte[] PREFIJO_ACTOR = bytes("Actor ");
+  private static final byte[] PREFIJO_PELICULA = bytes("Pelicula ");
+  private static final byte[] NOMBRE_KEVIN_BACON = bytes(KEVIN_BACON);
+
+  private final long lineas;
+  private final long semilla;
+  private final int componentesAisladas;
+  private final int actoresPorComponente;
+
+  /**
+   * Constructor de un generador sin componentes aisladas.
+   *
+   * @param lineas  Numero de lineas a generar.
+   * @param semilla Semilla de los numeros aleatorios.
+   */
+  public GeneradorIMDB(long lineas, long semilla) {
+    this(lineas, semilla, 0, 0);
+  }
+
+  /**
+   * Constructor de la clase GeneradorIMDB.
+   *
+   * @param lineas               Numero de lineas del grafo principal.
+   * @param semilla              Semilla de los numeros aleatorios.
+   * @param componentesAisladas  Numero de componentes aisladas.
+   * @param actoresPorComponente Numero de actores de cada componente aislada.
+   */
+  public GeneradorIMDB(long lineas, long semilla, int componentesAisladas, int actoresPorComponente) {
+    if (lineas < 0 || componentesAisladas < 0 || (componentesAisladas > 0 && actoresPorComponente < 1))
+      throw new IllegalArgumentException("Parametros invalidos para el generador");
+    this.lineas = lineas;
+    this.semilla = semilla;
+    this.componentesAisladas = componentesAisladas;
+    this.actoresPorComponente = actoresPorComponente;
+  }
+
+  /**
+   * Escribe los creditos en un archivo, reemplazandolo si existe.
+   *
+   * @param archivo Ruta del archivo de salida.
+   * @throws IOException si no se puede escribir el archivo.
+   */
+  public void escribir(Path archivo) throws IOException {
+    try (OutputStream salida = Files.newOutputStream(archivo)) {
+      escribir(salida);
+    }
+  }
+
+  /**
+   * Escribe los creditos en un flujo de salida, sin cerrarlo.
+   *
+   * @param salida El flujo de salida.
+   * @throws IOException si no se puede escribir.
+   */
+  public void escribir(OutputStream salida) throws IOException {
+    SplittableRandom aleatorio = new SplittableRandom(semilla);
+    Escritor escritor = new Escritor(salida);
+    int nActores = (int) Math.max(NUMERO_KEVIN_BACON + 1, Math.min(Integer.MAX_VALUE - 8,
+        lineas / CREDITOS_POR_ACTOR));
+    long[] aparecidos = new long[(nActores + 63) >>> 6];
+
+    // Las componentes aisladas se intercalan en puntos fijos del archivo.
+    long separacionAisladas = lineas / (componentesAisladas + 1);
+    int siguienteAislada = 0;
+
+    int[] reparto = new int[REPARTO_MAXIMO];
+    long escritas = 0;
+    for (long pelicula = 0; escritas < lineas; pelicula++) {
+      while (siguienteAislada < componentesAisladas && escritas >= (siguienteAislada + 1) * separacionAisladas)
+        escribirAislada(escritor, aleatorio, siguienteAislada++);
+
+      int tamano = (int) Math.min(Math.min(tamanoReparto(aleatorio), lineas - escritas), nActores);
+      int n = 0;
+      // Kevin Bacon abre el primer reparto, asi que siempre aparece y queda en el grafo principal.
+      if (pelicula == 0)
+        reparto[n++] = NUMERO_KEVIN_BACON;
+      else
+        reparto[n++] = actorAparecido(aleatorio, aparecidos, nActores);
+      while (n < tamano) {
+        int actor = (int) (nActores * Math.pow(aleatorio.nextDouble(), EXPONENTE_ACTORES));
+        if (!contiene(reparto, n, actor))
+          reparto[n++] = actor;
+      }
+
+      for (int i = 0; i < n; i++) {
+        aparecidos[reparto[i] >>> 6] |= 1L << reparto[i];
+        escritor.credito(reparto[i] == NUMERO_KEVIN_BACON ? NOMBRE_KEVIN_BACON : null, PREFIJO_ACTOR, reparto[i],
+            PREFIJO_PELICULA, pelicula);
+      }
+      escritas += n;
+    }
+    while (siguienteAislada < componentesAisladas)
+      escribirAislada(escritor, aleatorio, siguienteAislada++);
+    escritor.terminar();
+  }
+
+  /**
+   * Escribe una componente aislada: un reparto pequeno por pelicula, con un
+   * actor de una pelicula anterior de la misma componente para que quede
+   * conexa.
+   */
+  private void escribirAislada(Escritor escritor, SplittableRandom aleatorio, int componente) throws IOException {
+    byte[] prefijoActor = bytes("Actor aislado " + componente + ".");
+    byte[] prefijoPelicula = bytes("Pelicula aislada " + componente + ".");
+    if (actoresPorComponente == 1) {
+      escritor.credito(null, prefijoActor, 0, prefijoPelicula, 0);
+      return;
+    }
+    // Cada pelicula une al ultimo actor de la anterior con uno nuevo, y a veces con otro ya visto.
+    for (int actor = 1, pelicula = 0; actor < actoresPorComponente; actor++, pelicula++) {
+      escritor.credito(null, prefijoActor, actor - 1, prefijoPelicula, pelicula);
+      escritor.credito(null, prefijoActor, actor, prefijoPelicula, pelicula);
+      int otro = aleatorio.nextInt(actor);
+      if (otro != actor - 1 && aleatorio.nextBoolean())
+        escritor.credito(null, prefijoActor, otro, prefijoPelicula, pelicula);
+    }
+  }
+
+  /**
+   * Tamano de un reparto con distribucion de Pareto entre REPARTO_MINIMO y
+   * REPARTO_MAXIMO.
+   */
+  private static int tamanoReparto(SplittableRandom aleatorio) {
+    double u = 1 - aleatorio.nextDouble();
+    return (int) Math.min(REPARTO_MAXIMO, REPARTO_MINIMO / Math.pow(u, 1 / EXPONENTE_REPARTO));
+  }
+
+  /**
+   * Elige, con la misma distribucion que al resto, un actor que ya aparecio
+   * en alguna pelicula. Los numeros bajos aparecen casi siempre, asi que se
+   * encuentra uno en pocos intentos; si no, se usa el menor aparecido.
+   */
+  private static int actorAparecido(SplittableRandom aleatorio, long[] aparecidos, int nActores) {
+    for (int intento = 0; intento < 64; intento++) {
+      int actor = (int) (nActores * Math.pow(aleatorio.nextDouble(), EXPONENTE_ACTORES));
+      if ((aparecidos[actor >>> 6] & (1L << actor)) != 0)
+        return actor;
+    }
+    for (int palabra = 0;; palabra++) {
+      if (aparecidos[palabra] != 0)
+        return (palabra << 6) + Long.numberOfTrailingZeros(aparecidos[palabra]);
+    }
+  }
+
+  private static byte[] bytes(String texto) {
+    return texto.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static boolean contiene(int[] reparto, int n, int actor) {
+    for (int i = 0; i < n; i++) {
+      if (reparto[i] == actor)
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Escribe las lineas en un bufer de bytes, sin crear un String por linea.
+   */
+  private static class Escritor {
+    private final OutputStream salida;
+    private final byte[] bufer = new byte[1 << 16];
+    private final byte[] digitos = new byte[20];
+    private int posicion;
+
+    Escritor(OutputStream salida) {
+      this.salida = new BufferedOutputStream(salida, 1 << 16);
+    }
+
+    /**
+     * Escribe "prefijoActor actor|prefijoPelicula pelicula", o "nombre|..." si
+     * el actor tiene un nombre propio.
+     */
+    void credito(byte[] nombre, byte[] prefijoActor, long actor, byte[] prefijoPelicula, long pelicula)
+        throws IOException {
+      if (nombre != null) {
+        texto(nombre);
+      } else {
+        texto(prefijoActor);
+        numero(actor);
+      }
+      byte_('|');
+      texto(prefijoPelicula);
+      numero(pelicula);
+      byte_('\n');
+    }
+
+    private void texto(byte[] texto) throws IOException {
+      for (byte b : texto)
+        byte_(b);
+    }
+
+    private void numero(long numero) throws IOException {
+      int n = 0;
+      do {
+        digitos[n++] = (byte) ('0' + numero % 10);
+        numero /= 10;
+      } while (numero > 0);
+      while (n > 0)
+        byte_(digitos[--n]);
+    }
+
+    private void byte_(int b) throws IOException {
+      if (posicion == bufer.length) {
+        salida.write(bufer, 0, posicion);
+        posicion = 0;
+      }
+      bufer[posicion++] = (byte) b;
+    }
+
+    void terminar() throws IOException {
+      salida.write(bufer, 0, posicion);
+      posicion = 0;
+      salida.flush();
+    }
+  }
+
+  /**
+   * Uso: java imdb.GeneradorIMDB lineas semilla archivoSalida [componentesAisladas actoresPorComponente]
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3 && args.length != 5) {
+      System.out.println("Uso: java imdb.GeneradorIMDB lineas semilla archivoSalida"
+          + " [componentesAisladas actoresPorComponente]");
+      return;
+    }
+    int componentes = args.length == 5 ? Integer.parseInt(args[3]) : 0;
+    int actoresPorComponente = args.length == 5 ? Integer.parseInt(args[4]) : 0;
+    new GeneradorIMDB(Long.parseLong(args[0]), Long.parseLong(args[1]), componentes, actoresPorComponente)
+        .escribir(Path.of(args[2]));
+  }
+}
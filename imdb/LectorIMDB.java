@@ -0,0 +1,271 @@
+package imdb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import tad_grafo.ConjuntosDisjuntos;
+import tad_grafo.TablaSimbolos;
+
+/**
+ * Lee archivos con lineas "nombreActor|nombrePelicula" proyectando el archivo
+ * en memoria. El archivo se divide en bloques que terminan en un salto de
+ * linea, cada bloque se procesa en un hilo distinto buscando el byte '|' sin
+ * expresiones regulares, y los diccionarios de cada bloque se combinan en
+ * orden. El resultado es el mismo que el de leer el archivo linea por linea.
+ * Los nombres se registran en la tabla de simbolos global al combinar, por lo
+ * que solo los nombres distintos de cada bloque se conservan como String
+ * mientras dura la lectura.
+ *
+ * Las componentes conexas de actores y peliculas se calculan durante la
+ * lectura: en cuanto un bloque se combina, sus creditos se unen en unos
+ * conjuntos disjuntos sin bloqueos en otro hilo del pool, mientras se combinan
+ * los bloques siguientes.
+ */
+public class LectorIMDB {
+  private static final byte SEPARADOR = '|';
+  private static final byte FIN_LINEA = '\n';
+  private static final byte RETORNO = '\r';
+  private static final long TAMANO_MINIMO_BLOQUE = 1L << 20;
+  private static final long TAMANO_MAXIMO_BLOQUE = 1L << 28;
+
+  /**
+   * Actores, peliculas y creditos encontrados en un bloque del archivo, con
+   * indices locales al bloque en orden de primera aparicion.
+   */
+  private static class Bloque {
+    private final ArrayList<String> nombres = new ArrayList<>();
+    private final HashMap<String, Integer> indiceNombres = new HashMap<>();
+    private final ArrayList<String> titulos = new ArrayList<>();
+    private final HashMap<String, Integer> indiceTitulos = new HashMap<>();
+    private int[] creditoActor = new int[1024];
+    private int[] creditoPelicula = new int[1024];
+    private int nCreditos;
+    private int[] simbolosActores;
+    private int[] simbolosPeliculas;
+
+    private void agregarCredito(String nombre, String titulo) {
+      Integer actor = indiceNombres.get(nombre);
+      if (actor == null) {
+        actor = nombres.size();
+        nombres.add(nombre);
+        indiceNombres.put(nombre, actor);
+      }
+      Integer pelicula = indiceTitulos.get(titulo);
+      if (pelicula == null) {
+        pelicula = titulos.size();
+        titulos.add(titulo);
+        indiceTitulos.put(titulo, pelicula);
+      }
+      if (nCreditos == creditoActor.length) {
+        creditoActor = Arrays.copyOf(creditoActor, nCreditos * 2);
+        creditoPelicula = Arrays.copyOf(creditoPelicula, nCreditos * 2);
+      }
+      creditoActor[nCreditos] = actor;
+      creditoPelicula[nCreditos++] = pelicula;
+    }
+  }
+
+  /**
+   * Lee el archivo y genera las listas y diccionarios de actores y peliculas.
+   *
+   * @param path Ruta del archivo de entrada.
+   * @return Las listas de actores y peliculas, en orden de primera aparicion.
+   * @throws IOException si el archivo no se puede leer.
+   */
+  public static ListasIMDB leer(String path) throws IOException {
+    try (FileChannel canal = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+      List<Callable<Bloque>> tareas = new ArrayList<>();
+      for (long[] limites : dividir(canal)) {
+        tareas.add(() -> procesar(canal, limites[0], limites[1]));
+      }
+
+      List<Bloque> bloques = new ArrayList<>();
+      for (Future<Bloque> resultado : ForkJoinPool.commonPool().invokeAll(tareas)) {
+        bloques.add(esperar(resultado));
+      }
+
+      // Cada bloque agrega a lo sumo sus nombres y titulos a la tabla de simbolos.
+      long simbolos = TablaSimbolos.global().numeroDeSimbolos();
+      for (Bloque bloque : bloques) {
+        simbolos += bloque.nombres.size() + bloque.titulos.size();
+      }
+      ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(Math.toIntExact(2 * simbolos));
+
+      ArrayList<Actor> listaActores = new ArrayList<>();
+      ArrayList<Pelicula> listaPeliculas = new ArrayList<>();
+      DiccionarioSimbolos<Actor> diccionarioActores = new DiccionarioSimbolos<>();
+      DiccionarioSimbolos<Pelicula> diccionarioPeliculas = new DiccionarioSimbolos<>();
+      List<Future<?>> uniones = new ArrayList<>();
+      for (Bloque bloque : bloques) {
+        combinar(bloque, listaActores, listaPeliculas, diccionarioActores, diccionarioPeliculas);
+        uniones.add(ForkJoinPool.commonPool().submit(() -> unir(bloque, conjuntos)));
+      }
+      for (Future<?> union : uniones) {
+        esperar(union);
+      }
+      ListasIMDB listas = new ListasIMDB(listaActores, listaPeliculas, diccionarioActores, diccionarioPeliculas);
+      listas.asignarComponentes(conjuntos);
+      return listas;
+    }
+  }
+
+  /**
+   * Divide el archivo en bloques de [inicio, fin) que terminan justo despues de
+   * un salto de linea o al final del archivo.
+   */
+  private static List<long[]> dividir(FileChannel canal) throws IOException {
+    long tamano = canal.size();
+    int hilos = ForkJoinPool.commonPool().getParallelism();
+    long tamanoBloque = Math.max(TAMANO_MINIMO_BLOQUE, Math.min(TAMANO_MAXIMO_BLOQUE, tamano / (hilos * 4L)));
+
+    List<long[]> bloques = new ArrayList<>();
+    ByteBuffer lectura = ByteBuffer.allocate(4096);
+    long inicio = 0;
+    while (inicio < tamano) {
+      long fin = Math.min(inicio + tamanoBloque, tamano);
+      while (fin < tamano) {
+        lectura.clear();
+        int leidos = canal.read(lectura, fin);
+        int i = 0;
+        while (i < leidos && lectura.get(i) != FIN_LINEA)
+          i++;
+        fin += i;
+        if (i < leidos) {
+          fin++;
+          break;
+        }
+      }
+      bloques.add(new long[] { inicio, Math.min(fin, tamano) });
+      inicio = fin;
+    }
+    return bloques;
+  }
+
+  /**
+   * Procesa las lineas de un bloque del archivo. Las lineas sin '|' o sin
+   * titulo se ignoran.
+   */
+  private static Bloque procesar(FileChannel canal, long inicio, long fin) throws IOException {
+    MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio);
+    Bloque bloque = new Bloque();
+    byte[] auxiliar = new byte[256];
+    int limite = buffer.limit();
+    int linea = 0;
+    while (linea < limite) {
+      int separador = -1;
+      int finLinea = linea;
+      while (finLinea < limite) {
+        byte b = buffer.get(finLinea);
+        if (b == FIN_LINEA)
+          break;
+        if (b == SEPARADOR && separador < 0)
+          separador = finLinea;
+        finLinea++;
+      }
+      int siguiente = finLinea + 1;
+      if (finLinea > linea && buffer.get(finLinea - 1) == RETORNO)
+        finLinea--;
+
+      if (separador >= 0) {
+        int finTitulo = separador + 1;
+        while (finTitulo < finLinea && buffer.get(finTitulo) != SEPARADOR)
+          finTitulo++;
+        if (finTitulo > separador + 1) {
+          if (auxiliar.length < finLinea - linea)
+            auxiliar = new byte[Math.max(finLinea - linea, auxiliar.length * 2)];
+          String nombre = decodificar(buffer, linea, separador, auxiliar);
+          String titulo = decodificar(buffer, separador + 1, finTitulo, auxiliar);
+          bloque.agregarCredito(nombre, titulo);
+        }
+      }
+      linea = siguiente;
+    }
+    return bloque;
+  }
+
+  private static String decodificar(MappedByteBuffer buffer, int desde, int hasta, byte[] auxiliar) {
+    buffer.get(desde, auxiliar, 0, hasta - desde);
+    return new String(auxiliar, 0, hasta - desde, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Agrega a las listas globales los actores, peliculas y creditos de un
+   * bloque, preservando el orden de aparicion en el archivo.
+   */
+  private static void combinar(Bloque bloque, ArrayList<Actor> listaActores, ArrayList<Pelicula> listaPeliculas,
+      DiccionarioSimbolos<Actor> diccionarioActores, DiccionarioSimbolos<Pelicula> diccionarioPeliculas) {
+    TablaSimbolos tabla = TablaSimbolos.global();
+    Actor[] actores = new Actor[bloque.nombres.size()];
+    for (int i = 0; i < actores.length; i++) {
+      int simbolo = tabla.agregar(bloque.nombres.get(i));
+      Actor actor = diccionarioActores.obtener(simbolo);
+      if (actor == null) {
+        actor = new Actor(simbolo, new ArrayList<>());
+        listaActores.add(actor);
+        diccionarioActores.agregar(simbolo, actor);
+      }
+      actores[i] = actor;
+    }
+    bloque.simbolosActores = new int[actores.length];
+    for (int i = 0; i < actores.length; i++)
+      bloque.simbolosActores[i] = actores[i].getSimbolo();
+
+    Pelicula[] peliculas = new Pelicula[bloque.titulos.size()];
+    for (int i = 0; i < peliculas.length; i++) {
+      int simbolo = tabla.agregar(bloque.titulos.get(i));
+      Pelicula pelicula = diccionarioPeliculas.obtener(simbolo);
+      if (pelicula == null) {
+        pelicula = new Pelicula(simbolo, new ArrayList<>());
+        listaPeliculas.add(pelicula);
+        diccionarioPeliculas.agregar(simbolo, pelicula);
+      }
+      peliculas[i] = pelicula;
+    }
+    bloque.simbolosPeliculas = new int[peliculas.length];
+    for (int i = 0; i < peliculas.length; i++)
+      bloque.simbolosPeliculas[i] = peliculas[i].getSimbolo();
+
+    for (int c = 0; c < bloque.nCreditos; c++) {
+      Actor actor = actores[bloque.creditoActor[c]];
+      Pelicula pelicula = peliculas[bloque.creditoPelicula[c]];
+      pelicula.getActores().add(actor);
+      actor.getListaPeliculas().add(pelicula);
+    }
+  }
+
+  /**
+   * Une cada actor de un bloque ya combinado con sus peliculas.
+   */
+  private static void unir(Bloque bloque, ConjuntosDisjuntos conjuntos) {
+    for (int c = 0; c < bloque.nCreditos; c++) {
+      conjuntos.unir(ListasIMDB.elementoActor(bloque.simbolosActores[bloque.creditoActor[c]]),
+          ListasIMDB.elementoPelicula(bloque.simbolosPeliculas[bloque.creditoPelicula[c]]));
+    }
+  }
+
+  private static <T> T esperar(Future<T> resultado) throws IOException {
+    try {
+      return resultado.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Lectura interrumpida", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException)
+        throw (IOException) e.getCause();
+      throw new IOException(e.getCause());
+    }
+  }
+}
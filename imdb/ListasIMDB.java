@@ -1,14 +1,43 @@
 package imdb;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import tad_grafo.ConjuntosDisjuntos;
+import tad_grafo.TablaSimbolos;
 
 public class ListasIMDB {
   private ArrayList<Actor> listaActores;
   private ArrayList<Pelicula> listaPeliculas;
+  private DiccionarioSimbolos<Actor> diccionarioActores;
+  private DiccionarioSimbolos<Pelicula> diccionarioPeliculas;
+
+  /**
+   * Componente conexa de cada actor y de cada pelicula, por posicion en su
+   * lista, y numero de actores de cada componente. Las componentes se numeran
+   * en el orden de aparicion de su primer actor. LectorIMDB las calcula
+   * mientras lee; si no, se calculan la primera vez que se piden.
+   */
+  private int[] componentesActores;
+  private int[] componentesPeliculas;
+  private int[] actoresPorComponente;
 
   public ListasIMDB(ArrayList<Actor> listaActores, ArrayList<Pelicula> listaPeliculas) {
+    this(listaActores, listaPeliculas, new DiccionarioSimbolos<>(), new DiccionarioSimbolos<>());
+    for (Actor actor : listaActores)
+      if (diccionarioActores.obtener(actor.getSimbolo()) == null)
+        diccionarioActores.agregar(actor.getSimbolo(), actor);
+    for (Pelicula pelicula : listaPeliculas)
+      if (diccionarioPeliculas.obtener(pelicula.getSimbolo()) == null)
+        diccionarioPeliculas.agregar(pelicula.getSimbolo(), pelicula);
+  }
+
+  public ListasIMDB(ArrayList<Actor> listaActores, ArrayList<Pelicula> listaPeliculas,
+      DiccionarioSimbolos<Actor> diccionarioActores, DiccionarioSimbolos<Pelicula> diccionarioPeliculas) {
     this.listaActores = listaActores;
     this.listaPeliculas = listaPeliculas;
+    this.diccionarioActores = diccionarioActores;
+    this.diccionarioPeliculas = diccionarioPeliculas;
   }
 
   public ArrayList<Actor> getListaActores() {
@@ -19,11 +48,100 @@ public class ListasIMDB {
     return listaPeliculas;
   }
 
+  public DiccionarioSimbolos<Actor> getDiccionarioActores() {
+    return diccionarioActores;
+  }
+
+  public DiccionarioSimbolos<Pelicula> getDiccionarioPeliculas() {
+    return diccionarioPeliculas;
+  }
+
+  public int[] getComponentesActores() {
+    if (componentesActores == null)
+      calcularComponentes();
+    return componentesActores;
+  }
+
+  public int[] getComponentesPeliculas() {
+    if (componentesPeliculas == null)
+      calcularComponentes();
+    return componentesPeliculas;
+  }
+
+  public int[] getActoresPorComponente() {
+    if (actoresPorComponente == null)
+      calcularComponentes();
+    return actoresPorComponente;
+  }
+
+  /**
+   * Elemento de un actor en los conjuntos disjuntos de las componentes. Los
+   * actores y las peliculas se intercalan para que un actor y una pelicula con
+   * el mismo nombre (y el mismo simbolo) no queden unidos.
+   */
+  static int elementoActor(int simbolo) {
+    return 2 * simbolo;
+  }
+
+  static int elementoPelicula(int simbolo) {
+    return 2 * simbolo + 1;
+  }
+
+  /**
+   * Numera las componentes a partir de conjuntos disjuntos en los que ya se
+   * unio cada actor con sus peliculas.
+   */
+  void asignarComponentes(ConjuntosDisjuntos conjuntos) {
+    int[] numeros = new int[conjuntos.numeroDeElementos()];
+    Arrays.fill(numeros, -1);
+    int nComponentes = 0;
+    componentesActores = new int[listaActores.size()];
+    for (int i = 0; i < componentesActores.length; i++) {
+      int raiz = conjuntos.buscar(elementoActor(listaActores.get(i).getSimbolo()));
+      if (numeros[raiz] < 0)
+        numeros[raiz] = nComponentes++;
+      componentesActores[i] = numeros[raiz];
+    }
+    // Una pelicula sin actores es una componente sin actores.
+    componentesPeliculas = new int[listaPeliculas.size()];
+    for (int i = 0; i < componentesPeliculas.length; i++) {
+      int raiz = conjuntos.buscar(elementoPelicula(listaPeliculas.get(i).getSimbolo()));
+      if (numeros[raiz] < 0)
+        numeros[raiz] = nComponentes++;
+      componentesPeliculas[i] = numeros[raiz];
+    }
+    actoresPorComponente = new int[nComponentes];
+    for (int componente : componentesActores)
+      actoresPorComponente[componente]++;
+  }
+
+  private void calcularComponentes() {
+    ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(2 * TablaSimbolos.global().numeroDeSimbolos());
+    for (Pelicula pelicula : listaPeliculas)
+      for (Actor actor : pelicula.getActores())
+        conjuntos.unir(elementoActor(actor.getSimbolo()), elementoPelicula(pelicula.getSimbolo()));
+    asignarComponentes(conjuntos);
+  }
+
   public void setListaActores(ArrayList<Actor> listaActores) {
     this.listaActores = listaActores;
+    this.componentesActores = null;
+    this.componentesPeliculas = null;
+    this.actoresPorComponente = null;
+    this.diccionarioActores = new DiccionarioSimbolos<>();
+    for (Actor actor : listaActores)
+      if (diccionarioActores.obtener(actor.getSimbolo()) == null)
+        diccionarioActores.agregar(actor.getSimbolo(), actor);
   }
 
   public void setListaPeliculas(ArrayList<Pelicula> listaPeliculas) {
     this.listaPeliculas = listaPeliculas;
+    this.componentesActores = null;
+    this.componentesPeliculas = null;
+    this.actoresPorComponente = null;
+    this.diccionarioPeliculas = new DiccionarioSimbolos<>();
+    for (Pelicula pelicula : listaPeliculas)
+      if (diccionarioPeliculas.obtener(pelicula.getSimbolo()) == null)
+        diccionarioPeliculas.agregar(pelicula.getSimbolo(), pelicula);
   }
 }
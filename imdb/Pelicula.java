@@ -2,17 +2,27 @@ package imdb;
 
 import java.util.ArrayList;
 
+import tad_grafo.TablaSimbolos;
+
 public class Pelicula {
-    private String titulo;
+    private int simbolo;
     private ArrayList<Actor> actores;
 
     public Pelicula(String titulo, ArrayList<Actor> actores) {
-        this.titulo = titulo;
+        this(TablaSimbolos.global().agregar(titulo), actores);
+    }
+
+    public Pelicula(int simbolo, ArrayList<Actor> actores) {
+        this.simbolo = simbolo;
         this.actores = actores;
     }
 
     public String getTitulo() {
-        return titulo;
+        return TablaSimbolos.global().nombre(simbolo);
+    }
+
+    public int getSimbolo() {
+        return simbolo;
     }
 
     public ArrayList<Actor> getActores() {
@@ -20,7 +30,7 @@ public class Pelicula {
     }
 
     public void setTitulo(String titulo) {
-        this.titulo = titulo;
+        this.simbolo = TablaSimbolos.global().agregar(titulo);
     }
 
     public void setActores(ArrayList<Actor> actores) {
@@ -32,4 +42,8 @@ public class Pelicula {
                 .findAny()
                 .orElse(null);
     }
+
+    public static Pelicula buscarPelicula(String titulo, DiccionarioSimbolos<Pelicula> peliculas) {
+        return peliculas.buscar(titulo);
+    }
 }
@@ -0,0 +1,124 @@
+package tad_grafo;
+
+/**
+ * Representación compacta (Compressed Sparse Row) de las adyacencias de un
+ * grafo congelado. Los vecinos del vértice en la posición i ocupan las
+ * posiciones [desplazamientos[i], desplazamientos[i + 1]) de los arreglos de
+ * vecinos y de lados.
+ */
+
+public class AdyacenciaCSR {
+    /**
+     * Inicio de la lista de vecinos de cada vértice, con un elemento adicional
+     * al final igual al total de entradas.
+     */
+    private final int[] desplazamientos;
+
+    /**
+     * Posición de cada vecino en la lista de vértices del grafo.
+     */
+    private final int[] vecinos;
+
+    /**
+     * Posición, en la lista de lados del grafo, del lado que genera cada entrada.
+     */
+    private final int[] lados;
+
+    /**
+     * Constructor de la clase AdyacenciaCSR.
+     *
+     * @param desplazamientos Inicio de la lista de vecinos de cada vértice.
+     * @param vecinos         Posición de cada vecino.
+     * @param lados           Posición del lado que genera cada entrada.
+     */
+    public AdyacenciaCSR(int[] desplazamientos, int[] vecinos, int[] lados) {
+        this.desplazamientos = desplazamientos;
+        this.vecinos = vecinos;
+        this.lados = lados;
+    }
+
+    /**
+     * Construye la representación a partir de los extremos de cada lado. Los
+     * vecinos de cada vértice quedan en el mismo orden en que aparecen sus
+     * lados. Los lados con algún extremo negativo se ignoran.
+     *
+     * @param nVertices Número de vértices del grafo.
+     * @param origenes  Posición del primer extremo de cada lado.
+     * @param destinos  Posición del segundo extremo de cada lado.
+     * @param simetrica true si cada lado se registra en ambos extremos (grafo
+     *                  no dirigido), false si solo en su origen.
+     * @return La representación compacta de las adyacencias.
+     */
+    public static AdyacenciaCSR construir(int nVertices, int[] origenes, int[] destinos, boolean simetrica) {
+        int[] desplazamientos = new int[nVertices + 1];
+        for (int l = 0; l < origenes.length; l++) {
+            int u = origenes[l];
+            int v = destinos[l];
+            if (u < 0 || v < 0)
+                continue;
+            desplazamientos[u + 1]++;
+            if (simetrica && u != v)
+                desplazamientos[v + 1]++;
+        }
+        for (int i = 0; i < nVertices; i++)
+            desplazamientos[i + 1] += desplazamientos[i];
+
+        int[] vecinos = new int[desplazamientos[nVertices]];
+        int[] lados = new int[desplazamientos[nVertices]];
+        int[] siguiente = new int[nVertices];
+        System.arraycopy(desplazamientos, 0, siguiente, 0, nVertices);
+        for (int l = 0; l < origenes.length; l++) {
+            int u = origenes[l];
+            int v = destinos[l];
+            if (u < 0 || v < 0)
+                continue;
+            vecinos[siguiente[u]] = v;
+            lados[siguiente[u]++] = l;
+            if (simetrica && u != v) {
+                vecinos[siguiente[v]] = u;
+                lados[siguiente[v]++] = l;
+            }
+        }
+        return new AdyacenciaCSR(desplazamientos, vecinos, lados);
+    }
+
+    /**
+     * Número de vértices representados.
+     *
+     * @return número de vértices
+     */
+    public int numeroDeVertices() {
+        return desplazamientos.length - 1;
+    }
+
+    /**
+     * Número total de entradas de adyacencia.
+     *
+     * @return número de entradas
+     */
+    public int numeroDeEntradas() {
+        return vecinos.length;
+    }
+
+    /**
+     * Número de vecinos de un vértice.
+     *
+     * @param v Posición del vértice.
+     * @return El grado del vértice.
+     */
+    public int grado(int v) {
+        return desplazamientos[v + 1] - desplazamientos[v];
+    }
+
+    public int[] getDesplazamientos() {
+        return desplazamientos;
+    }
+
+    public int[] getVecinos() {
+        return vecinos;
+    }
+
+    public int[] getLados() {
+        return lados;
+    }
+}
@@ -22,6 +22,20 @@ public class Arco extends Lado {
     this.extremoFinal = extremoFinal;
   }
 
+  /**
+   * Constructor de la clase Arco.
+   * 
+   * @param simbolo        Símbolo del identificador del arco en la tabla global.
+   * @param peso           Peso del arco.
+   * @param extremoInicial Vértice inicial del arco.
+   * @param extremoFinal   Vértice final del arco.
+   */
+  public Arco(int simbolo, double peso, Vertice extremoInicial, Vertice extremoFinal) {
+    super(simbolo, peso);
+    this.extremoInicial = extremoInicial;
+    this.extremoFinal = extremoFinal;
+  }
+
   /**
    * Crea un nuevo arco.
    * 
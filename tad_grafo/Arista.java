@@ -21,6 +21,20 @@ public class Arista extends Lado {
     this.v = v;
   }
 
+  /**
+   * Constructor de la clase Arista.
+   * 
+   * @param simbolo Símbolo del identificador de la arista en la tabla global.
+   * @param peso    Peso de la arista.
+   * @param u       Vértice inicial de la arista.
+   * @param v       Vértice final de la arista.
+   */
+  public Arista(int simbolo, double peso, Vertice u, Vertice v) {
+    super(simbolo, peso);
+    this.u = u;
+    this.v = v;
+  }
+
   /**
    * Crea una nueva arista.
    * 
@@ -0,0 +1,204 @@
+package tad_grafo;
+
+import java.util.Arrays;
+
+/**
+ * Camino mínimo entre dos vértices con una búsqueda en anchura desde cada
+ * extremo. En cada paso se expande un nivel completo de la búsqueda cuya
+ * frontera tiene menos aristas por recorrer, y se termina al completar el
+ * primer nivel en el que las dos búsquedas se encuentran. En grafos de mundo
+ * pequeño cada búsqueda llega a la mitad de la distancia, por lo que se visita
+ * una fracción mínima de los vértices que visitaría un BFS completo.
+ *
+ * Cada hilo reutiliza sus arreglos de trabajo entre consultas: un vértice se
+ * considera visitado solo si su marca es igual a la generación de la consulta
+ * actual, así que no hace falta limpiarlos.
+ */
+
+public class BFSBidireccional {
+    private static final ThreadLocal<Espacio> ESPACIOS = new ThreadLocal<>();
+
+    /**
+     * Busca un camino mínimo entre dos vértices de un grafo no dirigido.
+     *
+     * @param grafo   el grafo no dirigido en el que se realizará la búsqueda
+     * @param origen  la posición del vértice de origen
+     * @param destino la posición del vértice de destino
+     * @return la distancia y un camino mínimo del origen al destino
+     */
+    public static ResultadoCamino camino(GrafoNoDirigido grafo, int origen, int destino) {
+        return camino(grafo.adyacencia(), origen, destino);
+    }
+
+    /**
+     * Busca un camino mínimo entre dos vértices.
+     *
+     * @param adyacencia las adyacencias simétricas del grafo
+     * @param origen     la posición del vértice de origen
+     * @param destino    la posición del vértice de destino
+     * @return la distancia y un camino mínimo del origen al destino
+     */
+    public static ResultadoCamino camino(AdyacenciaCSR adyacencia, int origen, int destino) {
+        if (origen == destino)
+            return new ResultadoCamino(0, new int[] { origen }, new int[0]);
+
+        Espacio espacio = espacio(adyacencia.numeroDeVertices());
+        int generacion = espacio.nuevaGeneracion();
+        Busqueda desdeOrigen = espacio.desdeOrigen;
+        Busqueda desdeDestino = espacio.desdeDestino;
+        desdeOrigen.iniciar(adyacencia, origen, generacion);
+        desdeDestino.iniciar(adyacencia, destino, generacion);
+
+        espacio.distancia = Integer.MAX_VALUE;
+        while (desdeOrigen.inicio < desdeOrigen.fin && desdeDestino.inicio < desdeDestino.fin) {
+            if (desdeOrigen.aristas <= desdeDestino.aristas)
+                expandir(adyacencia, espacio, desdeOrigen, desdeDestino, generacion);
+            else
+                expandir(adyacencia, espacio, desdeDestino, desdeOrigen, generacion);
+            if (espacio.distancia != Integer.MAX_VALUE)
+                return reconstruir(espacio);
+        }
+        return new ResultadoCamino(-1, new int[0], new int[0]);
+    }
+
+    /**
+     * Expande un nivel completo de una de las búsquedas y registra en el
+     * espacio el encuentro más corto con la otra.
+     */
+    private static void expandir(AdyacenciaCSR adyacencia, Espacio espacio, Busqueda propia, Busqueda otra,
+            int generacion) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int[] lados = adyacencia.getLados();
+
+        int fin = propia.fin;
+        long aristas = 0;
+        for (int i = propia.inicio; i < propia.fin; i++) {
+            int u = propia.cola[i];
+            for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                int w = vecinos[k];
+                if (otra.marcas[w] == generacion) {
+                    int distancia = propia.distancias[u] + 1 + otra.distancias[w];
+                    if (distancia < espacio.distancia) {
+                        espacio.distancia = distancia;
+                        espacio.encuentroOrigen = propia == espacio.desdeOrigen ? u : w;
+                        espacio.encuentroDestino = propia == espacio.desdeOrigen ? w : u;
+                        espacio.ladoEncuentro = lados[k];
+                    }
+                } else if (propia.marcas[w] != generacion) {
+                    propia.marcas[w] = generacion;
+                    propia.distancias[w] = propia.distancias[u] + 1;
+                    propia.padres[w] = u;
+                    propia.lados[w] = lados[k];
+                    propia.cola[fin++] = w;
+                    aristas += desplazamientos[w + 1] - desplazamientos[w];
+                }
+            }
+        }
+        propia.inicio = propia.fin;
+        propia.fin = fin;
+        propia.aristas = aristas;
+    }
+
+    /**
+     * Une el camino del origen al encuentro con el del encuentro al destino.
+     */
+    private static ResultadoCamino reconstruir(Espacio espacio) {
+        Busqueda desdeOrigen = espacio.desdeOrigen;
+        Busqueda desdeDestino = espacio.desdeDestino;
+        int[] vertices = new int[espacio.distancia + 1];
+        int[] lados = new int[espacio.distancia];
+
+        int posicion = desdeOrigen.distancias[espacio.encuentroOrigen];
+        for (int v = espacio.encuentroOrigen, i = posicion; i >= 0; i--) {
+            vertices[i] = v;
+            if (i > 0)
+                lados[i - 1] = desdeOrigen.lados[v];
+            v = desdeOrigen.padres[v];
+        }
+        lados[posicion] = espacio.ladoEncuentro;
+        for (int v = espacio.encuentroDestino, i = posicion + 1; i < vertices.length; i++) {
+            vertices[i] = v;
+            if (i < lados.length)
+                lados[i] = desdeDestino.lados[v];
+            v = desdeDestino.padres[v];
+        }
+        return new ResultadoCamino(espacio.distancia, vertices, lados);
+    }
+
+    /**
+     * Espacio de trabajo del hilo actual para un grafo de n vértices.
+     */
+    private static Espacio espacio(int n) {
+        Espacio espacio = ESPACIOS.get();
+        if (espacio == null || espacio.n != n) {
+            espacio = new Espacio(n);
+            ESPACIOS.set(espacio);
+        }
+        return espacio;
+    }
+
+    /**
+     * Estado de una de las dos búsquedas. La frontera actual es el tramo
+     * [inicio, fin) de la cola.
+     */
+    private static class Busqueda {
+        private final int[] marcas;
+        private final int[] distancias;
+        private final int[] padres;
+        private final int[] lados;
+        private final int[] cola;
+        private int inicio;
+        private int fin;
+        private long aristas;
+
+        Busqueda(int n) {
+            marcas = new int[n];
+            distancias = new int[n];
+            padres = new int[n];
+            lados = new int[n];
+            cola = new int[n];
+        }
+
+        void iniciar(AdyacenciaCSR adyacencia, int raiz, int generacion) {
+            marcas[raiz] = generacion;
+            distancias[raiz] = 0;
+            padres[raiz] = -1;
+            lados[raiz] = -1;
+            cola[0] = raiz;
+            inicio = 0;
+            fin = 1;
+            aristas = adyacencia.grado(raiz);
+        }
+    }
+
+    private static class Espacio {
+        private final int n;
+        private final Busqueda desdeOrigen;
+        private final Busqueda desdeDestino;
+        private int generacion;
+        private int distancia;
+        private int encuentroOrigen;
+        private int encuentroDestino;
+        private int ladoEncuentro;
+
+        Espacio(int n) {
+            this.n = n;
+            desdeOrigen = new Busqueda(n);
+            desdeDestino = new Busqueda(n);
+        }
+
+        /**
+         * Avanza la generación; al dar la vuelta se limpian las marcas para que
+         * ninguna marca vieja coincida con las nuevas generaciones.
+         */
+        int nuevaGeneracion() {
+            if (++generacion == Integer.MAX_VALUE) {
+                Arrays.fill(desdeOrigen.marcas, 0);
+                Arrays.fill(desdeDestino.marcas, 0);
+                generacion = 1;
+            }
+            return generacion;
+        }
+    }
+}
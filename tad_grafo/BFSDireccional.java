@@ -0,0 +1,186 @@
+package tad_grafo;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda en anchura que optimiza la dirección (Beamer et al.): mientras la
+ * frontera es pequeña recorre las adyacencias de la frontera (de arriba hacia
+ * abajo), y cuando la frontera abarca buena parte de las aristas por explorar
+ * recorre los vértices no visitados buscando un vecino en la frontera (de
+ * abajo hacia arriba), lo que evita revisar aristas hacia vértices ya
+ * visitados. La frontera y los visitados se guardan como conjuntos de bits.
+ *
+ * Las distancias son las mismas que las de GrafoNoDirigido.BFS; los padres
+ * pueden diferir, pero siempre forman un árbol de caminos mínimos.
+ */
+
+public class BFSDireccional {
+    /**
+     * Se pasa de arriba-abajo a abajo-arriba cuando las aristas de la frontera
+     * superan a las aristas por explorar divididas por ALFA.
+     */
+    private static final int ALFA = 14;
+
+    /**
+     * Se vuelve de abajo-arriba a arriba-abajo cuando la frontera tiene menos de
+     * n / BETA vértices y se está reduciendo.
+     */
+    private static final int BETA = 24;
+
+    /**
+     * Realiza la búsqueda en anchura sobre un grafo no dirigido.
+     *
+     * @param grafo          el grafo no dirigido en el que se realizará la
+     *                       búsqueda
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return las distancias, los padres y el orden de descubrimiento
+     */
+    public static ResultadoBFS BFS(GrafoNoDirigido grafo, int indiceNodoRaiz) {
+        return BFS(grafo.adyacencia(), indiceNodoRaiz);
+    }
+
+    /**
+     * Realiza la búsqueda en anchura sobre una representación compacta
+     * simétrica.
+     *
+     * @param adyacencia     las adyacencias del grafo
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return las distancias, los padres y el orden de descubrimiento
+     */
+    public static ResultadoBFS BFS(AdyacenciaCSR adyacencia, int indiceNodoRaiz) {
+        return BFS(adyacencia, indiceNodoRaiz, null);
+    }
+
+    /**
+     * Realiza la búsqueda en anchura sabiendo de antemano cuáles son los
+     * vértices de la componente de la raíz. Los pasos de abajo hacia arriba
+     * solo recorren esos vértices, y los umbrales para cambiar de dirección se
+     * calculan con el tamaño de la componente, así que el costo no depende de
+     * las demás componentes del grafo. Los vértices fuera de la componente
+     * quedan a distancia -1 sin revisarlos.
+     *
+     * @param adyacencia     las adyacencias del grafo
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @param componente     las posiciones de los vértices de la componente de
+     *                       la raíz, o null si no se conocen
+     * @return las distancias, los padres y el orden de descubrimiento
+     */
+    public static ResultadoBFS BFS(AdyacenciaCSR adyacencia, int indiceNodoRaiz, int[] componente) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int n = adyacencia.numeroDeVertices();
+        int tamano = componente == null ? n : componente.length;
+        long entradas = adyacencia.numeroDeEntradas();
+        if (componente != null) {
+            entradas = 0;
+            for (int v : componente)
+                entradas += desplazamientos[v + 1] - desplazamientos[v];
+        }
+
+        int[] distancias = new int[n];
+        int[] padres = new int[n];
+        Arrays.fill(distancias, -1);
+        Arrays.fill(padres, -1);
+        long[] visitados = new long[(n + 63) >>> 6];
+        long[] frontera = new long[visitados.length];
+
+        // La cola guarda todos los vértices descubiertos; la frontera del nivel
+        // actual es el tramo [inicioNivel, finNivel).
+        int[] cola = new int[tamano];
+        cola[0] = indiceNodoRaiz;
+        distancias[indiceNodoRaiz] = 0;
+        visitados[indiceNodoRaiz >>> 6] |= 1L << indiceNodoRaiz;
+
+        long aristasFrontera = adyacencia.grado(indiceNodoRaiz);
+        long aristasPorExplorar = entradas - aristasFrontera;
+        boolean abajoArriba = false;
+        int inicioNivel = 0;
+        int finNivel = 1;
+        int nivel = 0;
+        while (inicioNivel < finNivel) {
+            int tamanoFrontera = finNivel - inicioNivel;
+            if (!abajoArriba && aristasFrontera > aristasPorExplorar / ALFA) {
+                abajoArriba = true;
+            } else if (abajoArriba && tamanoFrontera < tamano / BETA) {
+                abajoArriba = false;
+            }
+
+            int fin = finNivel;
+            long aristasSiguiente = 0;
+            if (!abajoArriba) {
+                for (int i = inicioNivel; i < finNivel; i++) {
+                    int u = cola[i];
+                    for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                        int v = vecinos[k];
+                        if ((visitados[v >>> 6] & (1L << v)) == 0) {
+                            visitados[v >>> 6] |= 1L << v;
+                            distancias[v] = nivel + 1;
+                            padres[v] = u;
+                            cola[fin++] = v;
+                            aristasSiguiente += desplazamientos[v + 1] - desplazamientos[v];
+                        }
+                    }
+                }
+            } else {
+                for (int i = inicioNivel; i < finNivel; i++)
+                    frontera[cola[i] >>> 6] |= 1L << cola[i];
+
+                if (componente == null) {
+                    for (int w = 0; w < visitados.length; w++) {
+                        long noVisitados = ~visitados[w];
+                        if (w == visitados.length - 1 && (n & 63) != 0)
+                            noVisitados &= (1L << n) - 1;
+                        while (noVisitados != 0) {
+                            int v = (w << 6) + Long.numberOfTrailingZeros(noVisitados);
+                            noVisitados &= noVisitados - 1;
+                            int u = padreEnFrontera(desplazamientos, vecinos, frontera, v);
+                            if (u >= 0) {
+                                visitados[w] |= 1L << v;
+                                distancias[v] = nivel + 1;
+                                padres[v] = u;
+                                cola[fin++] = v;
+                                aristasSiguiente += desplazamientos[v + 1] - desplazamientos[v];
+                            }
+                        }
+                    }
+                } else {
+                    for (int v : componente) {
+                        if ((visitados[v >>> 6] & (1L << v)) != 0)
+                            continue;
+                        int u = padreEnFrontera(desplazamientos, vecinos, frontera, v);
+                        if (u >= 0) {
+                            visitados[v >>> 6] |= 1L << v;
+                            distancias[v] = nivel + 1;
+                            padres[v] = u;
+                            cola[fin++] = v;
+                            aristasSiguiente += desplazamientos[v + 1] - desplazamientos[v];
+                        }
+                    }
+                }
+
+                for (int i = inicioNivel; i < finNivel; i++)
+                    frontera[cola[i] >>> 6] = 0;
+            }
+
+            aristasPorExplorar -= aristasSiguiente;
+            aristasFrontera = aristasSiguiente;
+            inicioNivel = finNivel;
+            finNivel = fin;
+            nivel++;
+        }
+
+        return new ResultadoBFS(indiceNodoRaiz, distancias, padres, Arrays.copyOf(cola, finNivel));
+    }
+
+    /**
+     * Devuelve el primer vecino de v que está en la frontera, o -1 si no hay.
+     */
+    private static int padreEnFrontera(int[] desplazamientos, int[] vecinos, long[] frontera, int v) {
+        for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+            int u = vecinos[k];
+            if ((frontera[u >>> 6] & (1L << u)) != 0)
+                return u;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,129 @@
+package tad_grafo;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda en anchura desde varias raíces a la vez (MS-BFS, Then et al.). El
+ * estado de cada vértice respecto de cada raíz ocupa un bit: con 64 raíces,
+ * "visto", "por visitar" y "por visitar en el siguiente nivel" son una palabra
+ * de 64 bits por vértice, y al recorrer una arista se propagan todas las
+ * raíces a la vez con operaciones sobre palabras. Con más de 64 raíces se
+ * recorren en tandas de 64, reutilizando los arreglos. Recorrer el grafo para
+ * 64 raíces cuesta casi lo mismo que para una sola.
+ *
+ * Mientras la frontera (los vértices con alguna raíz por visitar) es chica,
+ * cada nivel recorre solo sus vértices, no todos los del grafo; cuando ocupa
+ * más de 1/16 de los vértices se recorren todas las posiciones en orden,
+ * saltando las palabras en 0.
+ */
+
+public class BFSMultiFuente {
+
+    /**
+     * Calcula las distancias desde cada raíz a todos los vértices de un grafo no
+     * dirigido.
+     *
+     * @param grafo  el grafo no dirigido en el que se realizará la búsqueda
+     * @param raices las posiciones de los vértices raíz
+     * @return una fila de distancias por raíz, con -1 en los vértices no
+     *         alcanzables
+     */
+    public static int[][] distancias(GrafoNoDirigido grafo, int[] raices) {
+        return distancias(grafo.adyacencia(), raices);
+    }
+
+    /**
+     * Calcula las distancias desde cada raíz a todos los vértices.
+     *
+     * @param adyacencia las adyacencias del grafo
+     * @param raices     las posiciones de los vértices raíz
+     * @return una fila de distancias por raíz, con -1 en los vértices no
+     *         alcanzables
+     */
+    public static int[][] distancias(AdyacenciaCSR adyacencia, int[] raices) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int n = adyacencia.numeroDeVertices();
+
+        int[][] distancias = new int[raices.length][n];
+        long[] vistos = new long[n];
+        long[] visitar = new long[n];
+        long[] visitarSiguiente = new long[n];
+        int[] frontera = new int[n];
+        int[] fronteraSiguiente = new int[n];
+        for (int primera = 0; primera < raices.length; primera += 64) {
+            int tanda = Math.min(64, raices.length - primera);
+            Arrays.fill(vistos, 0);
+            int tamano = 0;
+            for (int b = 0; b < tanda; b++) {
+                int r = primera + b;
+                int raiz = raices[r];
+                Arrays.fill(distancias[r], -1);
+                distancias[r][raiz] = 0;
+                vistos[raiz] |= 1L << b;
+                if (visitar[raiz] == 0)
+                    frontera[tamano++] = raiz;
+                visitar[raiz] |= 1L << b;
+            }
+
+            for (int nivel = 1; tamano > 0; nivel++) {
+                // Con una frontera grande se recorren todas las posiciones en orden y sin ramas por arista; con
+                // una chica, solo los vértices de la frontera.
+                boolean densa = tamano > n >>> 4;
+                int tamanoSiguiente = 0;
+                if (densa) {
+                    for (int v = 0; v < n; v++) {
+                        long bits = visitar[v];
+                        if (bits == 0)
+                            continue;
+                        for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++)
+                            visitarSiguiente[vecinos[k]] |= bits & ~vistos[vecinos[k]];
+                    }
+                } else {
+                    for (int i = 0; i < tamano; i++) {
+                        int v = frontera[i];
+                        long bits = visitar[v];
+                        for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+                            int w = vecinos[k];
+                            long nuevos = bits & ~vistos[w];
+                            if (nuevos == 0)
+                                continue;
+                            if (visitarSiguiente[w] == 0)
+                                fronteraSiguiente[tamanoSiguiente++] = w;
+                            visitarSiguiente[w] |= nuevos;
+                        }
+                    }
+                }
+
+                for (int i = 0; i < tamano; i++)
+                    visitar[frontera[i]] = 0;
+                if (densa) {
+                    for (int u = 0; u < n; u++) {
+                        if (visitarSiguiente[u] != 0)
+                            fronteraSiguiente[tamanoSiguiente++] = u;
+                    }
+                }
+                for (int i = 0; i < tamanoSiguiente; i++) {
+                    int u = fronteraSiguiente[i];
+                    long nuevos = visitarSiguiente[u];
+                    vistos[u] |= nuevos;
+                    while (nuevos != 0) {
+                        int r = primera + Long.numberOfTrailingZeros(nuevos);
+                        nuevos &= nuevos - 1;
+                        distancias[r][u] = nivel;
+                    }
+                }
+
+                long[] auxiliar = visitar;
+                visitar = visitarSiguiente;
+                visitarSiguiente = auxiliar;
+                int[] auxiliarFrontera = frontera;
+                frontera = fronteraSiguiente;
+                fronteraSiguiente = auxiliarFrontera;
+                tamano = tamanoSiguiente;
+            }
+        }
+
+        return distancias;
+    }
+}
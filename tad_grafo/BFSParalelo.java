@@ -0,0 +1,221 @@
+package tad_grafo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Búsqueda en anchura paralela sincronizada por niveles. Cada frontera se
+ * reparte en bloques que se procesan en un ForkJoinPool, en dos fases:
+ *
+ * 1. Cada vértice no visitado que es vecino de la frontera se queda con la
+ * menor posición en la cola de los vértices de la frontera que lo alcanzan
+ * (mínimo atómico).
+ * 2. Cada bloque recorre de nuevo sus vértices en orden y reclama, con un
+ * compare-and-set sobre el mapa de bits de visitados, los vecinos cuya menor
+ * posición es la del vértice actual. Los vértices reclamados por cada bloque
+ * se concatenan en el orden de los bloques.
+ *
+ * Así el padre de cada vértice es el primero de la cola que lo alcanza y la
+ * siguiente frontera queda en el mismo orden que en la búsqueda secuencial: el
+ * resultado es idéntico al de GrafoNoDirigido.BFS, sin importar el número de
+ * hilos.
+ */
+
+public class BFSParalelo {
+    /**
+     * Las fronteras con menos vértices se procesan en el hilo que llama.
+     */
+    private static final int UMBRAL_SECUENCIAL = 4096;
+
+    /**
+     * Número mínimo de vértices de la frontera en cada bloque.
+     */
+    private static final int TAMANO_MINIMO_BLOQUE = 1024;
+
+    /**
+     * Realiza la búsqueda en anchura sobre un grafo no dirigido usando el pool
+     * común.
+     *
+     * @param grafo          el grafo no dirigido en el que se realizará la
+     *                       búsqueda
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return las distancias, los padres y el orden de descubrimiento
+     */
+    public static ResultadoBFS BFS(GrafoNoDirigido grafo, int indiceNodoRaiz) {
+        return BFS(grafo.adyacencia(), indiceNodoRaiz, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Realiza la búsqueda en anchura sobre una representación compacta.
+     *
+     * @param adyacencia     las adyacencias del grafo
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @param pool           el pool en el que se procesan los bloques
+     * @return las distancias, los padres y el orden de descubrimiento
+     */
+    public static ResultadoBFS BFS(AdyacenciaCSR adyacencia, int indiceNodoRaiz, ForkJoinPool pool) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int n = adyacencia.numeroDeVertices();
+
+        int[] distancias = new int[n];
+        int[] padres = new int[n];
+        int[] cola = new int[n];
+        Arrays.fill(distancias, -1);
+        Arrays.fill(padres, -1);
+        AtomicLongArray visitados = new AtomicLongArray((n + 63) >>> 6);
+        AtomicIntegerArray posicionPadre = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++)
+            posicionPadre.set(v, Integer.MAX_VALUE);
+
+        cola[0] = indiceNodoRaiz;
+        distancias[indiceNodoRaiz] = 0;
+        reclamar(visitados, indiceNodoRaiz);
+        int inicioNivel = 0;
+        int finNivel = 1;
+        int nivel = 0;
+        while (inicioNivel < finNivel) {
+            int fin;
+            if (finNivel - inicioNivel < UMBRAL_SECUENCIAL) {
+                fin = finNivel;
+                for (int i = inicioNivel; i < finNivel; i++) {
+                    int u = cola[i];
+                    for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                        int v = vecinos[k];
+                        if (reclamar(visitados, v)) {
+                            distancias[v] = nivel + 1;
+                            padres[v] = u;
+                            cola[fin++] = v;
+                        }
+                    }
+                }
+            } else {
+                fin = expandirEnParalelo(adyacencia, cola, inicioNivel, finNivel, nivel, distancias, padres,
+                        visitados, posicionPadre, pool);
+            }
+            inicioNivel = finNivel;
+            finNivel = fin;
+            nivel++;
+        }
+
+        return new ResultadoBFS(indiceNodoRaiz, distancias, padres, Arrays.copyOf(cola, finNivel));
+    }
+
+    /**
+     * Expande en paralelo la frontera cola[inicioNivel, finNivel) y escribe la
+     * siguiente frontera a continuación en la cola.
+     *
+     * @return el fin de la siguiente frontera en la cola
+     */
+    private static int expandirEnParalelo(AdyacenciaCSR adyacencia, int[] cola, int inicioNivel, int finNivel,
+            int nivel, int[] distancias, int[] padres, AtomicLongArray visitados,
+            AtomicIntegerArray posicionPadre, ForkJoinPool pool) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int tamanoFrontera = finNivel - inicioNivel;
+        int nBloques = Math.max(1, Math.min(pool.getParallelism() * 8, tamanoFrontera / TAMANO_MINIMO_BLOQUE));
+
+        // Fase 1: cada vecino no visitado se queda con la menor posición que lo alcanza.
+        enParalelo(pool, nBloques, b -> {
+            int hasta = limiteBloque(inicioNivel, tamanoFrontera, nBloques, b + 1);
+            for (int i = limiteBloque(inicioNivel, tamanoFrontera, nBloques, b); i < hasta; i++) {
+                int u = cola[i];
+                for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                    int v = vecinos[k];
+                    if (distancias[v] < 0) {
+                        int actual = posicionPadre.get(v);
+                        while (i < actual && !posicionPadre.compareAndSet(v, actual, i))
+                            actual = posicionPadre.get(v);
+                    }
+                }
+            }
+        });
+
+        // Fase 2: cada bloque reclama en orden los vecinos cuya menor posición le pertenece.
+        int[][] descubiertos = new int[nBloques][];
+        int[] cantidades = new int[nBloques];
+        enParalelo(pool, nBloques, b -> {
+            int[] propios = new int[64];
+            int cantidad = 0;
+            int hasta = limiteBloque(inicioNivel, tamanoFrontera, nBloques, b + 1);
+            for (int i = limiteBloque(inicioNivel, tamanoFrontera, nBloques, b); i < hasta; i++) {
+                int u = cola[i];
+                for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                    int v = vecinos[k];
+                    if (posicionPadre.get(v) == i && reclamar(visitados, v)) {
+                        distancias[v] = nivel + 1;
+                        padres[v] = u;
+                        if (cantidad == propios.length)
+                            propios = Arrays.copyOf(propios, cantidad * 2);
+                        propios[cantidad++] = v;
+                    }
+                }
+            }
+            descubiertos[b] = propios;
+            cantidades[b] = cantidad;
+        });
+
+        int fin = finNivel;
+        for (int b = 0; b < nBloques; b++) {
+            System.arraycopy(descubiertos[b], 0, cola, fin, cantidades[b]);
+            fin += cantidades[b];
+        }
+        return fin;
+    }
+
+    /**
+     * Marca un vértice como visitado.
+     *
+     * @return true si el vértice no estaba visitado
+     */
+    private static boolean reclamar(AtomicLongArray visitados, int v) {
+        int palabra = v >>> 6;
+        long bit = 1L << v;
+        long actual = visitados.get(palabra);
+        while ((actual & bit) == 0) {
+            if (visitados.compareAndSet(palabra, actual, actual | bit))
+                return true;
+            actual = visitados.get(palabra);
+        }
+        return false;
+    }
+
+    private static int limiteBloque(int inicio, int tamano, int nBloques, int bloque) {
+        return inicio + (int) ((long) tamano * bloque / nBloques);
+    }
+
+    /**
+     * Ejecuta una tarea por cada bloque en el pool y espera a que terminen todas.
+     */
+    private static void enParalelo(ForkJoinPool pool, int nBloques, IntConsumer tarea) {
+        pool.invoke(new Bloques(0, nBloques, tarea));
+    }
+
+    private static class Bloques extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int desde;
+        private final int hasta;
+        private final IntConsumer tarea;
+
+        Bloques(int desde, int hasta, IntConsumer tarea) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tarea = tarea;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                tarea.accept(desde);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Bloques(desde, medio, tarea), new Bloques(medio, hasta, tarea));
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package tad_grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Componentes fuertemente conexas de un digrafo y su condensación. Cada
+ * vértice recibe el número de su componente, y las componentes se numeran en
+ * un orden topológico de la condensación: todo arco entre dos componentes
+ * distintas va de una de número menor a una de número mayor.
+ *
+ * La versión secuencial es el algoritmo de Tarjan sin recursión: la pila de
+ * llamadas se guarda en arreglos, así que no desborda la pila de Java en
+ * digrafos de millones de vértices, y todo su estado son seis arreglos de
+ * enteros. La versión paralela usa forward-backward con poda: se quitan los
+ * vértices sin predecesores o sin sucesores dentro del subconjunto (que son
+ * componentes de un vértice), se toma un pivote, la intersección de lo que
+ * alcanza y lo que lo alcanza es su componente, y los tres subconjuntos que
+ * quedan se procesan en paralelo en un ForkJoinPool. Los subconjuntos chicos,
+ * y los que quedan tras varias divisiones, se resuelven con Tarjan restringido
+ * al subconjunto. Ambas dan la misma partición; la numeración de la
+ * paralela es determinista, pero puede ser otro orden topológico.
+ */
+
+public class ComponentesFuertes {
+    /**
+     * Los subconjuntos con menos vértices se resuelven con Tarjan en el hilo
+     * de su tarea.
+     */
+    private static final int UMBRAL_SECUENCIAL = 4096;
+
+    /**
+     * Máximo de divisiones forward-backward anidadas. En digrafos con cadenas
+     * largas cada pivote solo separa unos pocos vértices, así que pasada esta
+     * profundidad los subconjuntos se resuelven con Tarjan sin importar su
+     * tamaño.
+     */
+    private static final int PROFUNDIDAD_MAXIMA = 12;
+
+    /**
+     * Color de los vértices que ya tienen componente.
+     */
+    private static final int ASIGNADO = -1;
+
+    /**
+     * Calcula las componentes fuertemente conexas con el algoritmo de Tarjan.
+     *
+     * @param grafo el digrafo
+     * @return el número de componente de cada vértice, por posición
+     */
+    public static int[] componentes(Digrafo grafo) {
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int n = adyacencia.numeroDeVertices();
+        int[] todos = new int[n];
+        for (int v = 0; v < n; v++)
+            todos[v] = v;
+        int[] componentes = new int[n];
+        Arrays.fill(componentes, -1);
+        AtomicInteger siguiente = new AtomicInteger();
+        tarjan(adyacencia, todos, n, null, 0, new int[n], new int[n], componentes, siguiente);
+
+        // Tarjan termina cada componente después de las que alcanza, así que el orden inverso es topológico.
+        int nComponentes = siguiente.get();
+        for (int v = 0; v < n; v++)
+            componentes[v] = nComponentes - 1 - componentes[v];
+        return componentes;
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas en paralelo en el pool
+     * común.
+     *
+     * @param grafo el digrafo
+     * @return el número de componente de cada vértice, por posición
+     */
+    public static int[] componentesParalelo(Digrafo grafo) {
+        return componentesParalelo(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas en paralelo.
+     *
+     * @param grafo el digrafo
+     * @param pool  el pool en el que se procesan los subconjuntos
+     * @return el número de componente de cada vértice, por posición
+     */
+    public static int[] componentesParalelo(Digrafo grafo, ForkJoinPool pool) {
+        Estado estado = new Estado(grafo.adyacencia(), grafo.adyacenciaInversa());
+        int n = estado.componentes.length;
+        int[] todos = new int[n];
+        for (int v = 0; v < n; v++)
+            todos[v] = v;
+        pool.invoke(new Subconjunto(estado, todos, 0, 0));
+        return ordenTopologico(estado.adyacencia, estado.componentes, estado.siguienteComponente.get());
+    }
+
+    /**
+     * Número de componentes de una asignación.
+     *
+     * @param componentes el número de componente de cada vértice
+     * @return el número de componentes distintas
+     */
+    public static int numeroDeComponentes(int[] componentes) {
+        int mayor = -1;
+        for (int componente : componentes)
+            mayor = Math.max(mayor, componente);
+        return mayor + 1;
+    }
+
+    /**
+     * Crea el digrafo de condensación: un vértice "C" + número por componente,
+     * cuyo peso es el número de vértices de la componente, y un arco
+     * "Ci->Cj" por cada par de componentes distintas unidas por algún arco,
+     * cuyo peso es el número de arcos que las unen. El vértice de la
+     * componente i queda en la posición i.
+     *
+     * @param grafo       el digrafo original
+     * @param componentes el número de componente de cada vértice
+     * @return la condensación, que no tiene ciclos
+     */
+    public static Digrafo condensacion(Digrafo grafo, int[] componentes) {
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int nComponentes = numeroDeComponentes(componentes);
+
+        double[] tamanos = new double[nComponentes];
+        int nPares = 0;
+        for (int u = 0; u < componentes.length; u++) {
+            tamanos[componentes[u]]++;
+            for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                if (componentes[vecinos[k]] != componentes[u])
+                    nPares++;
+            }
+        }
+
+        // Cada arco entre componentes se empaqueta en un long para ordenarlos y contar los repetidos.
+        long[] pares = new long[nPares];
+        nPares = 0;
+        for (int u = 0; u < componentes.length; u++) {
+            for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                if (componentes[vecinos[k]] != componentes[u])
+                    pares[nPares++] = ((long) componentes[u] << 32) | componentes[vecinos[k]];
+            }
+        }
+        Arrays.sort(pares);
+
+        List<Vertice> vertices = new ArrayList<>(nComponentes);
+        for (int c = 0; c < nComponentes; c++)
+            vertices.add(new Vertice("C" + c, tamanos[c]));
+        List<Arco> arcos = new ArrayList<>();
+        for (int i = 0; i < pares.length;) {
+            int j = i;
+            while (j < pares.length && pares[j] == pares[i])
+                j++;
+            int origen = (int) (pares[i] >>> 32);
+            int destino = (int) pares[i];
+            arcos.add(new Arco("C" + origen + "->C" + destino, j - i, vertices.get(origen), vertices.get(destino)));
+            i = j;
+        }
+        return new Digrafo(nComponentes, arcos.size(), vertices, arcos);
+    }
+
+    /**
+     * Algoritmo de Tarjan iterativo sobre los vértices de un subconjunto. Si
+     * colores no es null, solo se siguen los arcos hacia vértices del mismo
+     * color. Los arreglos indices y bajos se indexan por vértice y deben
+     * estar en 0 para los vértices del subconjunto; cada componente recibe el
+     * siguiente número del contador, en el orden en que se terminan.
+     */
+    private static void tarjan(AdyacenciaCSR adyacencia, int[] subconjunto, int tamano, int[] colores, int color,
+            int[] indices, int[] bajos, int[] componentes, AtomicInteger siguiente) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int[] pila = new int[tamano];
+        int[] llamadas = new int[tamano];
+        int[] siguienteArco = new int[tamano];
+        int tope = 0;
+        int contador = 0;
+
+        for (int i = 0; i < tamano; i++) {
+            int raiz = subconjunto[i];
+            if (indices[raiz] != 0)
+                continue;
+            indices[raiz] = bajos[raiz] = ++contador;
+            pila[tope++] = raiz;
+            llamadas[0] = raiz;
+            siguienteArco[0] = desplazamientos[raiz];
+            int profundidad = 1;
+
+            while (profundidad > 0) {
+                int v = llamadas[profundidad - 1];
+                int k = siguienteArco[profundidad - 1];
+                if (k < desplazamientos[v + 1]) {
+                    siguienteArco[profundidad - 1] = k + 1;
+                    int w = vecinos[k];
+                    if (colores != null && colores[w] != color)
+                        continue;
+                    if (indices[w] == 0) {
+                        indices[w] = bajos[w] = ++contador;
+                        pila[tope++] = w;
+                        llamadas[profundidad] = w;
+                        siguienteArco[profundidad++] = desplazamientos[w];
+                    } else if (componentes[w] < 0) {
+                        // w sigue en la pila: está en la componente de algún vértice de la rama actual.
+                        bajos[v] = Math.min(bajos[v], indices[w]);
+                    }
+                    continue;
+                }
+
+                profundidad--;
+                if (bajos[v] == indices[v]) {
+                    int componente = siguiente.getAndIncrement();
+                    int w;
+                    do {
+                        w = pila[--tope];
+                        componentes[w] = componente;
+                    } while (w != v);
+                }
+                if (profundidad > 0) {
+                    int padre = llamadas[profundidad - 1];
+                    bajos[padre] = Math.min(bajos[padre], bajos[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renumera las componentes en un orden topológico de la condensación. Las
+     * componentes se numeran primero según su menor vértice y luego se
+     * recorren con el algoritmo de Kahn, así que el resultado depende solo de
+     * la partición y no del orden en que se encontraron.
+     */
+    private static int[] ordenTopologico(AdyacenciaCSR adyacencia, int[] componentes, int nComponentes) {
+        int n = componentes.length;
+        int[] porMenorVertice = new int[nComponentes];
+        Arrays.fill(porMenorVertice, -1);
+        int siguiente = 0;
+        for (int v = 0; v < n; v++) {
+            if (porMenorVertice[componentes[v]] < 0)
+                porMenorVertice[componentes[v]] = siguiente++;
+            componentes[v] = porMenorVertice[componentes[v]];
+        }
+
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int[] origenes = new int[adyacencia.numeroDeEntradas()];
+        int[] destinos = new int[adyacencia.numeroDeEntradas()];
+        for (int u = 0; u < n; u++) {
+            for (int k = desplazamientos[u]; k < desplazamientos[u + 1]; k++) {
+                boolean distintas = componentes[u] != componentes[vecinos[k]];
+                origenes[k] = distintas ? componentes[u] : -1;
+                destinos[k] = distintas ? componentes[vecinos[k]] : -1;
+            }
+        }
+        AdyacenciaCSR condensada = AdyacenciaCSR.construir(nComponentes, origenes, destinos, false);
+        int[] desplazamientosC = condensada.getDesplazamientos();
+        int[] vecinosC = condensada.getVecinos();
+
+        int[] gradosInteriores = new int[nComponentes];
+        for (int w : vecinosC)
+            gradosInteriores[w]++;
+        int[] cola = new int[nComponentes];
+        int fin = 0;
+        for (int c = 0; c < nComponentes; c++) {
+            if (gradosInteriores[c] == 0)
+                cola[fin++] = c;
+        }
+        int[] orden = new int[nComponentes];
+        for (int inicio = 0; inicio < fin; inicio++) {
+            int c = cola[inicio];
+            orden[c] = inicio;
+            for (int k = desplazamientosC[c]; k < desplazamientosC[c + 1]; k++) {
+                if (--gradosInteriores[vecinosC[k]] == 0)
+                    cola[fin++] = vecinosC[k];
+            }
+        }
+        for (int v = 0; v < n; v++)
+            componentes[v] = orden[componentes[v]];
+        return componentes;
+    }
+
+    /**
+     * Estado compartido por las tareas de la versión paralela. Cada vértice
+     * pertenece a un solo subconjunto a la vez, y solo la tarea de ese
+     * subconjunto escribe sus posiciones de los arreglos. Las demás solo
+     * pueden leer su color, que nunca es el de un subconjunto ajeno porque
+     * cada subconjunto recibe un color nuevo.
+     */
+    private static class Estado {
+        private final AdyacenciaCSR adyacencia;
+        private final AdyacenciaCSR inversa;
+        private final int[] colores;
+        private final int[] componentes;
+        private final int[] gradosInteriores;
+        private final int[] gradosExteriores;
+        private final int[] indices;
+        private final int[] bajos;
+        private final AtomicInteger siguienteColor = new AtomicInteger(1);
+        private final AtomicInteger siguienteComponente = new AtomicInteger();
+
+        Estado(AdyacenciaCSR adyacencia, AdyacenciaCSR inversa) {
+            int n = adyacencia.numeroDeVertices();
+            this.adyacencia = adyacencia;
+            this.inversa = inversa;
+            colores = new int[n];
+            componentes = new int[n];
+            Arrays.fill(componentes, -1);
+            gradosInteriores = new int[n];
+            gradosExteriores = new int[n];
+            indices = new int[n];
+            bajos = new int[n];
+        }
+    }
+
+    /**
+     * Tarea que resuelve los vértices de un color.
+     */
+    private static class Subconjunto extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Estado estado;
+        private final int[] vertices;
+        private final int color;
+        private final int profundidad;
+
+        Subconjunto(Estado estado, int[] vertices, int color, int profundidad) {
+            this.estado = estado;
+            this.vertices = vertices;
+            this.color = color;
+            this.profundidad = profundidad;
+        }
+
+        @Override
+        protected void compute() {
+            int tamano = podar();
+            if (tamano == 0)
+                return;
+            if (tamano < UMBRAL_SECUENCIAL || profundidad >= PROFUNDIDAD_MAXIMA) {
+                tarjan(estado.adyacencia, vertices, tamano, estado.colores, color, estado.indices, estado.bajos,
+                        estado.componentes, estado.siguienteComponente);
+                for (int i = 0; i < tamano; i++)
+                    estado.colores[vertices[i]] = ASIGNADO;
+                return;
+            }
+
+            int adelante = estado.siguienteColor.getAndIncrement();
+            int atras = estado.siguienteColor.getAndIncrement();
+            int pivote = pivote(tamano);
+            int[] cola = new int[tamano];
+            recorrer(estado.adyacencia, pivote, cola, color, adelante, -1, -1);
+            int componente = estado.siguienteComponente.getAndIncrement();
+            recorrer(estado.inversa, pivote, cola, adelante, ASIGNADO, color, atras);
+            for (int i = 0; i < tamano; i++) {
+                if (estado.colores[vertices[i]] == ASIGNADO && estado.componentes[vertices[i]] < 0)
+                    estado.componentes[vertices[i]] = componente;
+            }
+
+            invokeAll(resto(tamano, adelante), resto(tamano, atras), resto(tamano, color));
+        }
+
+        /**
+         * Quita del subconjunto, hasta que no quede ninguno, los vértices sin
+         * predecesores o sin sucesores del mismo color: cada uno es una
+         * componente por sí solo. Deja los que quedan al principio de
+         * vertices y retorna cuántos son.
+         */
+        private int podar() {
+            int[] colores = estado.colores;
+            int[] componentes = estado.componentes;
+            for (int v : vertices)
+                colores[v] = color;
+
+            int[] cola = new int[vertices.length];
+            int fin = 0;
+            for (int v : vertices) {
+                estado.gradosInteriores[v] = contar(estado.inversa, v);
+                estado.gradosExteriores[v] = contar(estado.adyacencia, v);
+            }
+            for (int v : vertices) {
+                if (estado.gradosInteriores[v] == 0 || estado.gradosExteriores[v] == 0) {
+                    colores[v] = ASIGNADO;
+                    cola[fin++] = v;
+                }
+            }
+            for (int inicio = 0; inicio < fin; inicio++) {
+                int v = cola[inicio];
+                componentes[v] = estado.siguienteComponente.getAndIncrement();
+                fin = descontar(estado.adyacencia, v, estado.gradosInteriores, cola, fin);
+                fin = descontar(estado.inversa, v, estado.gradosExteriores, cola, fin);
+            }
+
+            int tamano = 0;
+            for (int v : vertices) {
+                if (colores[v] == color)
+                    vertices[tamano++] = v;
+            }
+            return tamano;
+        }
+
+        /**
+         * El vértice con mayor producto de grados dentro del subconjunto, que
+         * suele estar en su componente más grande.
+         */
+        private int pivote(int tamano) {
+            int pivote = vertices[0];
+            long mayor = -1;
+            for (int i = 0; i < tamano; i++) {
+                int v = vertices[i];
+                long producto = (long) estado.gradosInteriores[v] * estado.gradosExteriores[v];
+                if (producto > mayor) {
+                    mayor = producto;
+                    pivote = v;
+                }
+            }
+            return pivote;
+        }
+
+        private int contar(AdyacenciaCSR adyacencia, int v) {
+            int[] desplazamientos = adyacencia.getDesplazamientos();
+            int[] vecinos = adyacencia.getVecinos();
+            int cuenta = 0;
+            for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+                if (estado.colores[vecinos[k]] == color && vecinos[k] != v)
+                    cuenta++;
+            }
+            return cuenta;
+        }
+
+        /**
+         * Descuenta v del grado de sus vecinos del mismo color y encola los
+         * que quedan en 0.
+         */
+        private int descontar(AdyacenciaCSR adyacencia, int v, int[] grados, int[] cola, int fin) {
+            int[] desplazamientos = adyacencia.getDesplazamientos();
+            int[] vecinos = adyacencia.getVecinos();
+            for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+                int w = vecinos[k];
+                if (w != v && estado.colores[w] == color && --grados[w] == 0) {
+                    estado.colores[w] = ASIGNADO;
+                    cola[fin++] = w;
+                }
+            }
+            return fin;
+        }
+
+        /**
+         * BFS desde el pivote por los vértices de color desde, que pasan a
+         * color hacia. Si otroDesde no es -1, los vértices de ese color
+         * también se recorren y pasan a otroHacia.
+         */
+        private void recorrer(AdyacenciaCSR adyacencia, int pivote, int[] cola, int desde, int hacia, int otroDesde,
+                int otroHacia) {
+            int[] desplazamientos = adyacencia.getDesplazamientos();
+            int[] vecinos = adyacencia.getVecinos();
+            int[] colores = estado.colores;
+            colores[pivote] = hacia;
+            cola[0] = pivote;
+            int fin = 1;
+            for (int inicio = 0; inicio < fin; inicio++) {
+                int v = cola[inicio];
+                for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+                    int w = vecinos[k];
+                    if (colores[w] == desde) {
+                        colores[w] = hacia;
+                        cola[fin++] = w;
+                    } else if (otroDesde != -1 && colores[w] == otroDesde) {
+                        colores[w] = otroHacia;
+                        cola[fin++] = w;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Subconjunto de los vértices que quedaron con un color.
+         */
+        private Subconjunto resto(int tamano, int colorResto) {
+            int cuenta = 0;
+            for (int i = 0; i < tamano; i++) {
+                if (estado.colores[vertices[i]] == colorResto)
+                    cuenta++;
+            }
+            int[] resto = new int[cuenta];
+            cuenta = 0;
+            for (int i = 0; i < tamano; i++) {
+                if (estado.colores[vertices[i]] == colorResto)
+                    resto[cuenta++] = vertices[i];
+            }
+            int nuevoColor = colorResto == color ? estado.siguienteColor.getAndIncrement() : colorResto;
+            return new Subconjunto(estado, resto, nuevoColor, profundidad + 1);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package tad_grafo;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de los pares de extremos de los lados de un grafo, para saber en
+ * tiempo constante si dos vértices ya están unidos. Cada par se empaqueta en
+ * un long (el primer extremo en los 32 bits altos y el segundo en los bajos;
+ * en los grafos no dirigidos el menor va primero) y se guarda en una tabla
+ * hash de direccionamiento abierto sobre longs, sin crear objetos.
+ *
+ * Como un grafo puede tener varios lados entre los mismos extremos, se lleva
+ * la cuenta de cuántos hay con cada par, y el par sale del conjunto al quitar
+ * el último.
+ */
+
+public class ConjuntoLados {
+    /**
+     * Marca de las posiciones libres. Ningún par la produce porque los
+     * extremos no son negativos.
+     */
+    private static final long LIBRE = -1L;
+
+    private final boolean dirigido;
+    private long[] claves;
+    private int[] cuentas;
+    private int nPares;
+
+    /**
+     * Constructor de un conjunto vacío.
+     *
+     * @param dirigido true si el par (u, v) es distinto del par (v, u).
+     */
+    public ConjuntoLados(boolean dirigido) {
+        this.dirigido = dirigido;
+        this.claves = new long[16];
+        this.cuentas = new int[16];
+        Arrays.fill(claves, LIBRE);
+    }
+
+    /**
+     * Número de pares distintos en el conjunto.
+     *
+     * @return número de pares
+     */
+    public int numeroDePares() {
+        return nPares;
+    }
+
+    /**
+     * Indica si hay algún lado entre dos extremos.
+     *
+     * @param u Primer extremo.
+     * @param v Segundo extremo.
+     * @return true si el par está en el conjunto.
+     */
+    public boolean contiene(int u, int v) {
+        if (u < 0 || v < 0)
+            return false;
+        return claves[ubicar(clave(u, v))] != LIBRE;
+    }
+
+    /**
+     * Registra un lado entre dos extremos.
+     *
+     * @param u Primer extremo.
+     * @param v Segundo extremo.
+     * @return true si es el primer lado con ese par de extremos.
+     */
+    public boolean agregar(int u, int v) {
+        long clave = clave(u, v);
+        int posicion = ubicar(clave);
+        if (claves[posicion] != LIBRE) {
+            cuentas[posicion]++;
+            return false;
+        }
+        claves[posicion] = clave;
+        cuentas[posicion] = 1;
+        if (++nPares * 2 > claves.length)
+            crecer();
+        return true;
+    }
+
+    /**
+     * Quita un lado entre dos extremos.
+     *
+     * @param u Primer extremo.
+     * @param v Segundo extremo.
+     * @return true si era el último lado con ese par de extremos.
+     */
+    public boolean quitar(int u, int v) {
+        if (u < 0 || v < 0)
+            return false;
+        int posicion = ubicar(clave(u, v));
+        if (claves[posicion] == LIBRE || --cuentas[posicion] > 0)
+            return false;
+
+        // Se corren hacia atrás los pares siguientes del mismo grupo para no dejar huecos en su búsqueda.
+        int mascara = claves.length - 1;
+        int libre = posicion;
+        for (int i = (libre + 1) & mascara; claves[i] != LIBRE; i = (i + 1) & mascara) {
+            int ideal = dispersar(claves[i]) & mascara;
+            if (((i - ideal) & mascara) >= ((i - libre) & mascara)) {
+                claves[libre] = claves[i];
+                cuentas[libre] = cuentas[i];
+                libre = i;
+            }
+        }
+        claves[libre] = LIBRE;
+        cuentas[libre] = 0;
+        nPares--;
+        return true;
+    }
+
+    /**
+     * Vacía el conjunto.
+     */
+    public void limpiar() {
+        Arrays.fill(claves, LIBRE);
+        Arrays.fill(cuentas, 0);
+        nPares = 0;
+    }
+
+    private long clave(int u, int v) {
+        if (!dirigido && u > v)
+            return ((long) v << 32) | u;
+        return ((long) u << 32) | v;
+    }
+
+    /**
+     * Devuelve la posición en la que está la clave, o la posición libre en la
+     * que debe insertarse.
+     */
+    private int ubicar(long clave) {
+        int mascara = claves.length - 1;
+        int posicion = dispersar(clave) & mascara;
+        while (claves[posicion] != LIBRE && claves[posicion] != clave)
+            posicion = (posicion + 1) & mascara;
+        return posicion;
+    }
+
+    private void crecer() {
+        long[] anteriores = claves;
+        int[] cuentasAnteriores = cuentas;
+        claves = new long[anteriores.length * 2];
+        cuentas = new int[anteriores.length * 2];
+        Arrays.fill(claves, LIBRE);
+        for (int i = 0; i < anteriores.length; i++) {
+            if (anteriores[i] != LIBRE) {
+                int posicion = ubicar(anteriores[i]);
+                claves[posicion] = anteriores[i];
+                cuentas[posicion] = cuentasAnteriores[i];
+            }
+        }
+    }
+
+    /**
+     * Mezcla los bits del par para que los extremos consecutivos no caigan
+     * en posiciones consecutivas.
+     */
+    private static int dispersar(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,112 @@
+package tad_grafo;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Conjuntos disjuntos (union-find) de los enteros de 0 a n - 1, que pueden
+ * unirse y consultarse desde varios hilos a la vez sin bloqueos. Cada
+ * elemento guarda a su padre en un AtomicIntegerArray; las raíces se enlazan
+ * con compareAndSet y los caminos se acortan a la mitad en cada búsqueda
+ * (cada elemento pasa a apuntar a su abuelo), también con compareAndSet.
+ *
+ * Al unir, la raíz de menor prioridad pasa a apuntar a la de mayor. Las
+ * prioridades son una permutación pseudoaleatoria fija de los elementos, así
+ * que los padres siempre suben de prioridad, no se forman ciclos aunque dos
+ * hilos enlacen a la vez, y los árboles quedan de altura logarítmica
+ * esperada sin guardar rangos ni tamaños.
+ */
+
+public class ConjuntosDisjuntos {
+    private final AtomicIntegerArray padres;
+
+    /**
+     * Constructor de n conjuntos de un elemento.
+     *
+     * @param n Número de elementos.
+     */
+    public ConjuntosDisjuntos(int n) {
+        padres = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++)
+            padres.set(i, i);
+    }
+
+    /**
+     * Número de elementos.
+     *
+     * @return número de elementos
+     */
+    public int numeroDeElementos() {
+        return padres.length();
+    }
+
+    /**
+     * Busca la raíz del conjunto de un elemento. Si otro hilo une conjuntos a
+     * la vez, la raíz puede dejar de serlo apenas se retorna.
+     *
+     * @param x El elemento.
+     * @return La raíz de su conjunto.
+     */
+    public int buscar(int x) {
+        while (true) {
+            int padre = padres.get(x);
+            if (padre == x)
+                return x;
+            int abuelo = padres.get(padre);
+            if (abuelo == padre)
+                return padre;
+            padres.compareAndSet(x, padre, abuelo);
+            x = abuelo;
+        }
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     *
+     * @param a Un elemento.
+     * @param b Otro elemento.
+     * @return true si estaban en conjuntos distintos.
+     */
+    public boolean unir(int a, int b) {
+        while (true) {
+            a = buscar(a);
+            b = buscar(b);
+            if (a == b)
+                return false;
+            if (prioridad(a) > prioridad(b)) {
+                int auxiliar = a;
+                a = b;
+                b = auxiliar;
+            }
+            // Si a dejó de ser raíz, otro hilo lo enlazó antes y se vuelve a buscar.
+            if (padres.compareAndSet(a, a, b))
+                return true;
+        }
+    }
+
+    /**
+     * Indica si dos elementos están en el mismo conjunto. Solo es definitivo
+     * si no hay uniones en curso.
+     *
+     * @param a Un elemento.
+     * @param b Otro elemento.
+     * @return true si están en el mismo conjunto.
+     */
+    public boolean mismoConjunto(int a, int b) {
+        while (true) {
+            a = buscar(a);
+            b = buscar(b);
+            if (a == b)
+                return true;
+            if (padres.get(a) == a)
+                return false;
+        }
+    }
+
+    /**
+     * Prioridad de un elemento. Multiplicar por una constante impar es una
+     * biyección de los enteros, así que no hay empates.
+     */
+    private static int prioridad(int x) {
+        return x * 0x9E3779B9;
+    }
+}
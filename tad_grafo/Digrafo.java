@@ -1,7 +1,12 @@
 package tad_grafo;
 
 /**
- * Clase que representa un grafo dirigido.
+ * Clase que representa un grafo dirigido. Las consultas de vecindad
+ * (sucesores, predecesores, grados, adyacentes, incidentes) y los BFS se
+ * hacen sobre dos representaciones compactas (CSR) de los arcos, una por
+ * extremo inicial y otra por extremo final, que se construyen al congelar el
+ * grafo. Cualquier modificación las descarta, y la siguiente consulta vuelve
+ * a congelarlo.
  */
 
 import java.io.BufferedReader;
@@ -31,6 +36,30 @@ public class Digrafo implements Grafo {
      */
     private List<Arco> arcos;
 
+    /**
+     * Posición de cada vértice en la lista, indexada por el símbolo de su
+     * identificador; -1 si el símbolo no es un vértice del grafo.
+     */
+    private int[] indices;
+
+    /**
+     * Sucesores de cada vértice en formato CSR, o null si el grafo cambió
+     * desde el último congelamiento.
+     */
+    private AdyacenciaCSR adyacencia;
+
+    /**
+     * Predecesores de cada vértice en formato CSR; se construye junto con
+     * adyacencia.
+     */
+    private AdyacenciaCSR adyacenciaInversa;
+
+    /**
+     * Pares (extremo inicial, extremo final) de los símbolos de los arcos,
+     * para que estaLado no recorra la lista de arcos.
+     */
+    private final ConjuntoLados pares = new ConjuntoLados(true);
+
     /**
      * Constructor de la clase Digrafo.
      * 
@@ -44,6 +73,49 @@ public class Digrafo implements Grafo {
         this.nrArcos = nrArcos;
         this.vertices = vertices;
         this.arcos = arcos;
+        this.indices = new int[0];
+        reconstruirIndices(0);
+        reconstruirPares();
+    }
+
+    /**
+     * Registra en el conjunto de pares los extremos de todos los arcos.
+     */
+    private void reconstruirPares() {
+        pares.limpiar();
+        for (Arco arco : arcos)
+            registrarPar(arco);
+    }
+
+    private void registrarPar(Arco arco) {
+        if (arco.getExtremoInicial() != null && arco.getExtremoFinal() != null)
+            pares.agregar(arco.getExtremoInicial().getSimbolo(), arco.getExtremoFinal().getSimbolo());
+    }
+
+    /**
+     * Registra en el índice los vértices a partir de una posición dada.
+     * 
+     * @param desde Primera posición de la lista de vértices a registrar.
+     */
+    private void reconstruirIndices(int desde) {
+        for (int i = desde; i < vertices.size(); i++)
+            registrarIndice(vertices.get(i).getSimbolo(), i);
+    }
+
+    /**
+     * Asocia el símbolo del id de un vértice con su posición en la lista,
+     * ampliando el índice si hace falta.
+     * 
+     * @param simbolo Símbolo del id del vértice.
+     * @param indice  Posición del vértice, o -1 para quitarlo del índice.
+     */
+    private void registrarIndice(int simbolo, int indice) {
+        if (simbolo >= indices.length) {
+            int tamanoAnterior = indices.length;
+            indices = Arrays.copyOf(indices, Math.max(simbolo + 1, tamanoAnterior * 2));
+            Arrays.fill(indices, tamanoAnterior, indices.length, -1);
+        }
+        indices[simbolo] = indice;
     }
 
     /**
@@ -66,6 +138,7 @@ public class Digrafo implements Grafo {
      *         contrario.
      */
     public boolean cargarGrafo(String dirArchivo) {
+        descongelar();
         BufferedReader br = null;
         try {
             br = new BufferedReader(new FileReader(dirArchivo));
@@ -85,6 +158,7 @@ public class Digrafo implements Grafo {
 
                 double peso = Double.parseDouble(datos[1]);
                 Vertice nuevoVertice = new Vertice(datos[0], peso);
+                registrarIndice(nuevoVertice.getSimbolo(), vertices.size());
                 vertices.add(nuevoVertice);
             }
 
@@ -101,6 +175,7 @@ public class Digrafo implements Grafo {
                 Vertice extremoFinal = obtenerVertice(datos[2]);
                 double peso = Double.parseDouble(datos[3]);
                 Arco nuevoArco = new Arco(datos[0], peso, extremoInicial, extremoFinal);
+                registrarPar(nuevoArco);
                 arcos.add(nuevoArco);
             }
 
@@ -140,9 +215,16 @@ public class Digrafo implements Grafo {
      * Añade un vértice al digrafo
      * 
      * @param v Vertice añadido
-     * @return true si se ha añadido correctamente, false en caso contrario
+     * @return true si se ha añadido correctamente, false si ya existe un vértice
+     *         con el mismo id
      */
     public boolean agregarVertice(Vertice v) {
+        if (indiceDeSimbolo(v.getSimbolo()) >= 0)
+            return false;
+
+        registrarIndice(v.getSimbolo(), vertices.size());
+        nrVertices++;
+        descongelar();
         return vertices.add(v);
     }
 
@@ -154,13 +236,12 @@ public class Digrafo implements Grafo {
      * @return true si se ha añadido correctamente, false en caso contrario
      */
     public boolean agregarVertice(String id, double peso) {
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id))
-                return false;
-        }
+        int simbolo = TablaSimbolos.global().agregar(id);
+        if (indiceDeSimbolo(simbolo) >= 0)
+            return false;
 
-        Vertice vertice = new Vertice(id, peso);
-        return vertices.add(vertice);
+        Vertice vertice = new Vertice(simbolo, peso);
+        return agregarVertice(vertice);
     }
 
     /**
@@ -172,12 +253,33 @@ public class Digrafo implements Grafo {
      *                                especificado
      */
     public Vertice obtenerVertice(String id) {
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id))
-                return vertice;
-        }
+        return vertices.get(indiceVertice(id));
+    }
 
-        throw new NoSuchElementException(id);
+    /**
+     * Busca la posición de un vértice en la lista de vértices del digrafo
+     * 
+     * @param id El identificador del vertice a buscar
+     * @return La posición del vértice en la lista de vértices
+     * @throws NoSuchElementException si no existe ningún vértice con el ID
+     *                                especificado
+     */
+    public int indiceVertice(String id) {
+        int indice = indiceDeSimbolo(TablaSimbolos.global().buscar(id));
+        if (indice < 0)
+            throw new NoSuchElementException(id);
+
+        return indice;
+    }
+
+    /**
+     * Busca la posición de un vértice a partir del símbolo de su id
+     * 
+     * @param simbolo El símbolo del identificador del vértice en la tabla global
+     * @return La posición del vértice, o -1 si no está en el digrafo
+     */
+    public int indiceDeSimbolo(int simbolo) {
+        return simbolo >= 0 && simbolo < indices.length ? indices[simbolo] : -1;
     }
 
     /**
@@ -187,46 +289,39 @@ public class Digrafo implements Grafo {
      * @return true si se encuentra, false en caso contrario
      */
     public boolean estaVertice(String id) {
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id))
-                return true;
-        }
-
-        return false;
+        return indiceDeSimbolo(TablaSimbolos.global().buscar(id)) >= 0;
     }
 
     /**
-     * Determina si un lado está dentro del digrafo
+     * Determina si un lado está dentro del digrafo, en tiempo constante
      * 
      * @param u El identificador del extremo inicial del lado
      * @param v El identificador del extremo final del lado
      * @return true si se encuentra, false en caso contrario
      */
     public boolean estaLado(String u, String v) {
-        for (Arco arco : arcos) {
-            String extremoInical = arco.getExtremoInicial().getId();
-            String extremoFinal = arco.getExtremoFinal().getId();
-            if (extremoInical.equals(u) && extremoFinal.equals(v))
-                return true;
-        }
-
-        return false;
+        return pares.contiene(TablaSimbolos.global().buscar(u), TablaSimbolos.global().buscar(v));
     }
 
     /**
-     * Elimina el vértice con el ID especificado.
+     * Elimina el vértice con el ID especificado. Sus arcos quedan en la lista
+     * de arcos, pero las consultas de vecindad y los BFS los ignoran, como en
+     * GrafoNoDirigido.
      *
      * @param id El identificador del vértice que se eliminará
      * @return true si se eliminó el vértice; false en caso contrario
      */
     public boolean eliminarVertice(String id) {
-        Vertice verticeAEliminar = null;
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id))
-                verticeAEliminar = vertice;
-        }
-
-        return vertices.remove(verticeAEliminar);
+        int indice = indiceDeSimbolo(TablaSimbolos.global().buscar(id));
+        if (indice < 0)
+            return false;
+
+        registrarIndice(vertices.get(indice).getSimbolo(), -1);
+        vertices.remove(indice);
+        nrVertices--;
+        reconstruirIndices(indice);
+        descongelar();
+        return true;
     }
 
     /**
@@ -258,17 +353,18 @@ public class Digrafo implements Grafo {
      *                                especificado
      */
     public int grado(String id) {
-        if (!estaVertice(id))
-            throw new NoSuchElementException(id);
-        int count = 0;
-        for (Arco arco : arcos) {
-            String extremoInical = arco.getExtremoInicial().getId();
-            String extremoFinal = arco.getExtremoFinal().getId();
-            if (extremoInical.equals(id) || extremoFinal.equals(id))
-                count++;
+        int indice = indiceVertice(id);
+        congelar();
+        // Los lazos aparecen entre los sucesores y entre los predecesores, pero cuentan una sola vez.
+        int lazos = 0;
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        for (int k = desplazamientos[indice]; k < desplazamientos[indice + 1]; k++) {
+            if (vecinos[k] == indice)
+                lazos++;
         }
 
-        return count;
+        return adyacencia.grado(indice) + adyacenciaInversa.grado(indice) - lazos;
     }
 
     /**
@@ -283,16 +379,7 @@ public class Digrafo implements Grafo {
      *                                especificado
      */
     public List<Vertice> adyacentes(String id) {
-        if (!estaVertice(id))
-            throw new NoSuchElementException(id);
-        List<Vertice> adyacentes = new ArrayList<>();
-        for (Arco arco : arcos) {
-            String extremoInical = arco.getExtremoInicial().getId();
-            if (extremoInical.equals(id))
-                adyacentes.add(arco.getExtremoFinal());
-        }
-
-        return adyacentes;
+        return sucesores(id);
     }
 
     /**
@@ -306,14 +393,13 @@ public class Digrafo implements Grafo {
      *                                especificado
      */
     public List<Lado> incidentes(String id) {
-        if (!estaVertice(id))
-            throw new NoSuchElementException(id);
-        List<Lado> incidentes = new ArrayList<>();
-        for (Arco arco : arcos) {
-            String extremoFinal = arco.getExtremoFinal().getId();
-            if (extremoFinal.equals(id))
-                incidentes.add(arco);
-        }
+        int indice = indiceVertice(id);
+        congelar();
+        int[] desplazamientos = adyacenciaInversa.getDesplazamientos();
+        int[] lados = adyacenciaInversa.getLados();
+        List<Lado> incidentes = new ArrayList<>(adyacenciaInversa.grado(indice));
+        for (int k = desplazamientos[indice]; k < desplazamientos[indice + 1]; k++)
+            incidentes.add(arcos.get(lados[k]));
 
         return incidentes;
     }
@@ -328,19 +414,39 @@ public class Digrafo implements Grafo {
         List<Arco> arcosCopia = new ArrayList<>();
 
         for (Vertice vertice : vertices) {
-            Vertice verticeCopia = new Vertice(vertice.getId(), vertice.getPeso());
+            Vertice verticeCopia = new Vertice(vertice.getSimbolo(), vertice.getPeso());
             verticesCopia.add(verticeCopia);
         }
 
+        Digrafo copia = new Digrafo(nrVertices, nrArcos, verticesCopia, arcosCopia);
+
         for (Arco arco : arcos) {
-            Arco arcoCopia = new Arco(arco.getId(), arco.getPeso(), arco.getExtremoInicial(), arco.getExtremoFinal());
+            Vertice extremoInicial = verticeCopiado(arco.getExtremoInicial(), verticesCopia);
+            Vertice extremoFinal = verticeCopiado(arco.getExtremoFinal(), verticesCopia);
+            Arco arcoCopia = new Arco(arco.getSimbolo(), arco.getPeso(), extremoInicial, extremoFinal);
             arcosCopia.add(arcoCopia);
         }
+        copia.reconstruirPares();
 
-        return new Digrafo(nrVertices, nrArcos, verticesCopia, arcosCopia);
+        return copia;
 
     }
 
+    /**
+     * Devuelve la copia de un vértice, o el mismo vértice si no pertenece al grafo.
+     * 
+     * @param vertice       El vértice original.
+     * @param verticesCopia La lista de vértices copiados.
+     * @return La copia del vértice.
+     */
+    private Vertice verticeCopiado(Vertice vertice, List<Vertice> verticesCopia) {
+        if (vertice == null)
+            return null;
+
+        int indice = indiceDeSimbolo(vertice.getSimbolo());
+        return indice < 0 ? vertice : verticesCopia.get(indice);
+    }
+
     /**
      * Devuelve un string que representa el grafo.
      * 
@@ -370,6 +476,9 @@ public class Digrafo implements Grafo {
      * @return true si el arco se agregó correctamente, false en caso contrario.
      */
     public boolean agregarArco(Arco a) {
+        descongelar();
+        registrarPar(a);
+        nrArcos++;
         return arcos.add(a);
     }
 
@@ -381,12 +490,15 @@ public class Digrafo implements Grafo {
      * @return true si el arco se agregó correctamente, false en caso contrario.
      */
     public boolean agregarArco(String id, double peso) {
+        int simbolo = TablaSimbolos.global().agregar(id);
         for (Arco arco : arcos) {
-            if (arco.getId().equals(id))
+            if (arco.getSimbolo() == simbolo)
                 return false;
         }
 
-        Arco nuevoArco = new Arco(id, peso, null, null);
+        Arco nuevoArco = new Arco(simbolo, peso, null, null);
+        descongelar();
+        nrArcos++;
         return arcos.add(nuevoArco);
     }
 
@@ -398,13 +510,11 @@ public class Digrafo implements Grafo {
      */
 
     public int gradoInterior(String id) {
-        int cuenta = 0;
-        for (Arco arco : arcos) {
-            if (arco.getExtremoFinal().getId().equals(id))
-                cuenta++;
-        }
-
-        return cuenta;
+        int indice = indiceDeSimbolo(TablaSimbolos.global().buscar(id));
+        if (indice < 0)
+            return 0;
+        congelar();
+        return adyacenciaInversa.grado(indice);
     }
 
     /**
@@ -414,13 +524,11 @@ public class Digrafo implements Grafo {
      * @return El grado exterior del vértice.
      */
     public int gradoExterior(String id) {
-        int cuenta = 0;
-        for (Arco arco : arcos) {
-            if (arco.getExtremoInicial().getId().equals(id))
-                cuenta++;
-        }
-
-        return cuenta;
+        int indice = indiceDeSimbolo(TablaSimbolos.global().buscar(id));
+        if (indice < 0)
+            return 0;
+        congelar();
+        return adyacencia.grado(indice);
     }
 
     /**
@@ -431,16 +539,7 @@ public class Digrafo implements Grafo {
      * @throws NoSuchElementException Si el vértice no existe en el grafo.
      */
     public List<Vertice> sucesores(String id) {
-        if (!estaVertice(id))
-            throw new NoSuchElementException(id);
-        List<Vertice> sucesores = new ArrayList<>();
-        for (Arco arco : arcos) {
-            if (arco.getExtremoInicial().getId().equals(id)) {
-                sucesores.add(arco.getExtremoFinal());
-            }
-        }
-
-        return sucesores;
+        return vecinos(adyacencia(), indiceVertice(id));
     }
 
     /**
@@ -451,16 +550,78 @@ public class Digrafo implements Grafo {
      * @throws NoSuchElementException Si el vértice no existe en el grafo.
      */
     public List<Vertice> predecesores(String id) {
-        if (!estaVertice(id))
-            throw new NoSuchElementException(id);
-        List<Vertice> sucesores = new ArrayList<>();
-        for (Arco arco : arcos) {
-            if (arco.getExtremoFinal().getId().equals(id)) {
-                sucesores.add(arco.getExtremoInicial());
-            }
+        return vecinos(adyacenciaInversa(), indiceVertice(id));
+    }
+
+    /**
+     * Devuelve los vértices de la lista de vecinos de un vértice en una de las
+     * dos representaciones compactas.
+     */
+    private List<Vertice> vecinos(AdyacenciaCSR adyacencia, int indice) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        List<Vertice> resultado = new ArrayList<>(adyacencia.grado(indice));
+        for (int k = desplazamientos[indice]; k < desplazamientos[indice + 1]; k++)
+            resultado.add(vertices.get(vecinos[k]));
+
+        return resultado;
+    }
+
+    /**
+     * Congela el digrafo: construye las representaciones compactas de sus
+     * sucesores y de sus predecesores, con las que las consultas de vecindad
+     * cuestan O(grado) y las de grado O(1). Los arcos con algún extremo que
+     * no está en el digrafo se ignoran.
+     */
+    public void congelar() {
+        if (adyacencia != null)
+            return;
+        int[] iniciales = new int[arcos.size()];
+        int[] finales = new int[arcos.size()];
+        for (int i = 0; i < arcos.size(); i++) {
+            Arco arco = arcos.get(i);
+            iniciales[i] = arco.getExtremoInicial() == null ? -1
+                    : indiceDeSimbolo(arco.getExtremoInicial().getSimbolo());
+            finales[i] = arco.getExtremoFinal() == null ? -1 : indiceDeSimbolo(arco.getExtremoFinal().getSimbolo());
         }
+        adyacenciaInversa = AdyacenciaCSR.construir(vertices.size(), finales, iniciales, false);
+        adyacencia = AdyacenciaCSR.construir(vertices.size(), iniciales, finales, false);
+    }
+
+    /**
+     * Indica si el digrafo tiene sus representaciones compactas vigentes.
+     *
+     * @return true si está congelado
+     */
+    public boolean estaCongelado() {
+        return adyacencia != null;
+    }
+
+    private void descongelar() {
+        adyacencia = null;
+        adyacenciaInversa = null;
+    }
 
-        return sucesores;
+    /**
+     * Devuelve los sucesores de cada vértice en formato CSR, congelando el
+     * digrafo si hace falta.
+     *
+     * @return las adyacencias por extremo inicial
+     */
+    public AdyacenciaCSR adyacencia() {
+        congelar();
+        return adyacencia;
+    }
+
+    /**
+     * Devuelve los predecesores de cada vértice en formato CSR, congelando el
+     * digrafo si hace falta.
+     *
+     * @return las adyacencias por extremo final
+     */
+    public AdyacenciaCSR adyacenciaInversa() {
+        congelar();
+        return adyacenciaInversa;
     }
 
     /**
@@ -471,8 +632,13 @@ public class Digrafo implements Grafo {
      * @throws NoSuchElementException Si el arco no existe en el grafo.
      */
     public boolean eliminarArco(String id) {
+        int simbolo = TablaSimbolos.global().buscar(id);
         for (Arco arco : arcos) {
-            if (arco.getId().equals(id)) {
+            if (arco.getSimbolo() == simbolo) {
+                descongelar();
+                if (arco.getExtremoInicial() != null && arco.getExtremoFinal() != null)
+                    pares.quitar(arco.getExtremoInicial().getSimbolo(), arco.getExtremoFinal().getSimbolo());
+                nrArcos--;
                 return arcos.remove(arco);
             }
         }
@@ -488,8 +654,9 @@ public class Digrafo implements Grafo {
      * @throws NoSuchElementException Si el arco no existe en el grafo.
      */
     public Arco obtenerArco(String id) {
+        int simbolo = TablaSimbolos.global().buscar(id);
         for (Arco arco : arcos) {
-            if (arco.getId().equals(id)) {
+            if (arco.getSimbolo() == simbolo) {
                 return arco;
             }
         }
@@ -498,39 +665,48 @@ public class Digrafo implements Grafo {
     }
 
     /**
-     * Realiza una búsqueda en anchura (BFS) en un grafo dirigido.
+     * Realiza una búsqueda en anchura (BFS) en un grafo dirigido, desde el
+     * primer vértice y siguiendo los sucesores de cada vértice. Recorre cada
+     * arco una sola vez; el resto del costo es el de copiar los caminos.
      *
      * @param grafo el grafo dirigido en el que se realizará la búsqueda
      * @return una lista de listas de vértices que representan los caminos cerrados
      *         recorridos en el grafo
      */
     public static List<List<Vertice>> BFS(Digrafo grafo) {
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        List<Vertice> vertices = grafo.vertices();
 
         // Inicialización de variables
-        boolean[] visitado = new boolean[grafo.vertices().size()];
-        Queue<List<Vertice>> caminosAbiertos = new LinkedList<>();
+        boolean[] visitado = new boolean[vertices.size()];
+        Queue<List<Vertice>> caminosAbiertos = new ArrayDeque<>();
+        Queue<Integer> posiciones = new ArrayDeque<>();
         List<List<Vertice>> caminosCerrados = new ArrayList<>();
 
         // Seleccionar el primer vértice como nodo raíz
-        Vertice vertice = grafo.vertices().get(0);
-        visitado[Integer.parseInt(vertice.getId())] = true;
+        visitado[0] = true;
         List<Vertice> camino = new ArrayList<>();
-        camino.add(vertice);
+        camino.add(vertices.get(0));
         caminosAbiertos.add(camino);
+        posiciones.add(0);
 
         // Recorrer los nodos del grafo
         while (!caminosAbiertos.isEmpty()) {
             List<Vertice> caminoAbiertoActual = caminosAbiertos.poll();
-            vertice = caminoAbiertoActual.get(caminoAbiertoActual.size() - 1);
+            int vertice = posiciones.poll();
             caminosCerrados.add(caminoAbiertoActual);
 
-            // Recorrer los vértices adyacentes al vértice actual
-            for (Vertice adyacente : grafo.adyacentes(vertice.getId())) {
-                if (!visitado[Integer.parseInt(adyacente.getId())]) {
-                    visitado[Integer.parseInt(adyacente.getId())] = true;
+            // Recorrer los sucesores del vértice actual
+            for (int k = desplazamientos[vertice]; k < desplazamientos[vertice + 1]; k++) {
+                int adyacente = vecinos[k];
+                if (!visitado[adyacente]) {
+                    visitado[adyacente] = true;
                     List<Vertice> nuevoCamino = new ArrayList<>(caminoAbiertoActual);
-                    nuevoCamino.add(adyacente);
+                    nuevoCamino.add(vertices.get(adyacente));
                     caminosAbiertos.add(nuevoCamino);
+                    posiciones.add(adyacente);
                 }
             }
         }
@@ -538,4 +714,63 @@ public class Digrafo implements Grafo {
         // Devolver la lista de caminos cerrados recorridos en el grafo
         return caminosCerrados;
     }
-}
\ No newline at end of file
+
+    /**
+     * Realiza una búsqueda en anchura (BFS) siguiendo los arcos hacia
+     * adelante. Cuesta O(V + E) y no construye los caminos: se reconstruyen a
+     * pedido desde los padres con ResultadoBFS.camino.
+     *
+     * @param grafo          el grafo dirigido en el que se realizará la búsqueda
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return las distancias desde la raíz, el padre de cada vértice en el árbol
+     *         BFS y el orden en que se descubrieron los vértices
+     */
+    public static ResultadoBFS BFS(Digrafo grafo, int indiceNodoRaiz) {
+        return BFS(grafo.adyacencia(), indiceNodoRaiz);
+    }
+
+    /**
+     * Realiza una búsqueda en anchura (BFS) siguiendo los arcos hacia atrás,
+     * es decir, desde la raíz hacia los vértices que pueden llegar a ella.
+     * Cuesta O(V + E).
+     *
+     * @param grafo          el grafo dirigido en el que se realizará la búsqueda
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return la distancia de cada vértice a la raíz, el siguiente vértice de
+     *         cada uno en un camino mínimo hacia ella y el orden en que se
+     *         descubrieron los vértices
+     */
+    public static ResultadoBFS BFSInverso(Digrafo grafo, int indiceNodoRaiz) {
+        return BFS(grafo.adyacenciaInversa(), indiceNodoRaiz);
+    }
+
+    private static ResultadoBFS BFS(AdyacenciaCSR adyacencia, int indiceNodoRaiz) {
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int n = adyacencia.numeroDeVertices();
+
+        int[] distancias = new int[n];
+        int[] padres = new int[n];
+        int[] cola = new int[n];
+        Arrays.fill(distancias, -1);
+        Arrays.fill(padres, -1);
+
+        distancias[indiceNodoRaiz] = 0;
+        cola[0] = indiceNodoRaiz;
+        int inicio = 0;
+        int fin = 1;
+        while (inicio < fin) {
+            int vertice = cola[inicio++];
+            for (int k = desplazamientos[vertice]; k < desplazamientos[vertice + 1]; k++) {
+                int adyacente = vecinos[k];
+                if (distancias[adyacente] < 0) {
+                    distancias[adyacente] = distancias[vertice] + 1;
+                    padres[adyacente] = vertice;
+                    cola[fin++] = adyacente;
+                }
+            }
+        }
+
+        return new ResultadoBFS(indiceNodoRaiz, distancias, padres, Arrays.copyOf(cola, fin));
+    }
+}
@@ -0,0 +1,184 @@
+package tad_grafo;
+
+import java.util.Arrays;
+
+/**
+ * Calcula el diámetro, el radio y los centros de la componente conexa de un
+ * vértice con pocas búsquedas en anchura, en lugar de una desde cada vértice.
+ *
+ * El diámetro se obtiene con iFUB (Crescenzi et al.): se elige un vértice
+ * central con un 4-sweep y se recorren sus niveles de afuera hacia adentro
+ * calculando la excentricidad de cada vértice del nivel, hasta que la cota
+ * inferior supera el doble del nivel siguiente.
+ *
+ * El radio y los centros se obtienen acotando la excentricidad de cada vértice
+ * (Takes y Kosters): cada búsqueda desde v con excentricidad e(v) da, para
+ * todo w, max(d(v, w), e(v) - d(v, w)) <= e(w) <= e(v) + d(v, w). Los
+ * vértices cuya cota inferior supera al menor radio conocido se descartan, y
+ * se busca desde los candidatos restantes hasta que todos tienen su
+ * excentricidad exacta.
+ */
+
+public class Excentricidades {
+    private final AdyacenciaCSR adyacencia;
+    private final int[] componente;
+    private final int[] cotaInferior;
+    private final int[] cotaSuperior;
+    private int busquedas;
+
+    private Excentricidades(AdyacenciaCSR adyacencia, ResultadoBFS recorridoComponente) {
+        this.adyacencia = adyacencia;
+        this.componente = recorridoComponente.getOrden();
+        this.cotaInferior = new int[adyacencia.numeroDeVertices()];
+        this.cotaSuperior = new int[adyacencia.numeroDeVertices()];
+        Arrays.fill(cotaSuperior, Integer.MAX_VALUE);
+        this.busquedas = 1;
+        acotar(recorridoComponente);
+    }
+
+    /**
+     * Calcula el diámetro, el radio y los centros de la componente conexa de un
+     * vértice de un grafo no dirigido.
+     *
+     * @param grafo             el grafo no dirigido
+     * @param verticeComponente la posición de un vértice de la componente
+     * @return el diámetro, el radio y los centros de la componente
+     */
+    public static ResultadoExcentricidad calcular(GrafoNoDirigido grafo, int verticeComponente) {
+        return calcular(grafo.adyacencia(), verticeComponente);
+    }
+
+    /**
+     * Calcula el diámetro, el radio y los centros de la componente conexa de un
+     * vértice.
+     *
+     * @param adyacencia        las adyacencias simétricas del grafo
+     * @param verticeComponente la posición de un vértice de la componente
+     * @return el diámetro, el radio y los centros de la componente
+     */
+    public static ResultadoExcentricidad calcular(AdyacenciaCSR adyacencia, int verticeComponente) {
+        ResultadoBFS recorrido = BFSDireccional.BFS(adyacencia, verticeComponente);
+        Excentricidades calculo = new Excentricidades(adyacencia, recorrido);
+        int diametro = calculo.diametro(recorrido);
+        int radio = calculo.radio();
+
+        int nCentros = 0;
+        int[] centros = new int[calculo.componente.length];
+        for (int w : calculo.componente) {
+            if (calculo.cotaSuperior[w] == radio)
+                centros[nCentros++] = w;
+        }
+        return new ResultadoExcentricidad(diametro, radio, Arrays.copyOf(centros, nCentros), calculo.busquedas);
+    }
+
+    /**
+     * iFUB, a partir del recorrido desde un vértice de la componente.
+     */
+    private int diametro(ResultadoBFS recorrido) {
+        ResultadoBFS primero = buscar(masLejano(recorrido));
+        ResultadoBFS segundo = buscar(puntoMedio(primero));
+        ResultadoBFS tercero = buscar(masLejano(segundo));
+        ResultadoBFS central = buscar(puntoMedio(tercero));
+        int cota = Math.max(excentricidad(primero), excentricidad(tercero));
+
+        int[] distancias = central.getDistancias();
+        int[] orden = central.getOrden();
+        int nivel = excentricidad(central);
+        cota = Math.max(cota, nivel);
+        int fin = orden.length;
+        while (2 * nivel > cota) {
+            int inicio = fin;
+            while (inicio > 0 && distancias[orden[inicio - 1]] == nivel)
+                inicio--;
+            for (int p = inicio; p < fin; p++) {
+                int v = orden[p];
+                int e = cotaInferior[v] == cotaSuperior[v] ? cotaSuperior[v] : excentricidad(buscar(v));
+                cota = Math.max(cota, e);
+            }
+            if (cota > 2 * (nivel - 1))
+                return cota;
+            nivel--;
+            fin = inicio;
+        }
+        return cota;
+    }
+
+    /**
+     * Reduce los candidatos a centro hasta conocer la excentricidad exacta de
+     * todos los que podrían tener la menor.
+     */
+    private int radio() {
+        boolean porCotaInferior = true;
+        while (true) {
+            int radioSuperior = Integer.MAX_VALUE;
+            for (int w : componente)
+                radioSuperior = Math.min(radioSuperior, cotaSuperior[w]);
+
+            int elegido = -1;
+            for (int w : componente) {
+                if (cotaInferior[w] == cotaSuperior[w] || cotaInferior[w] > radioSuperior)
+                    continue;
+                if (elegido < 0 || mejorCandidato(w, elegido, porCotaInferior))
+                    elegido = w;
+            }
+            if (elegido < 0)
+                return radioSuperior;
+
+            buscar(elegido);
+            porCotaInferior = !porCotaInferior;
+        }
+    }
+
+    /**
+     * Alterna entre el candidato con menor cota inferior y el de mayor cota
+     * superior; los empates se resuelven por mayor grado.
+     */
+    private boolean mejorCandidato(int w, int elegido, boolean porCotaInferior) {
+        long clave = porCotaInferior ? -(long) cotaInferior[w] : cotaSuperior[w];
+        long claveElegido = porCotaInferior ? -(long) cotaInferior[elegido] : cotaSuperior[elegido];
+        if (clave != claveElegido)
+            return clave > claveElegido;
+        return adyacencia.grado(w) > adyacencia.grado(elegido);
+    }
+
+    /**
+     * Realiza una búsqueda desde un vértice y actualiza las cotas de todos los
+     * vértices de la componente.
+     */
+    private ResultadoBFS buscar(int v) {
+        busquedas++;
+        ResultadoBFS recorrido = BFSDireccional.BFS(adyacencia, v);
+        acotar(recorrido);
+        return recorrido;
+    }
+
+    private void acotar(ResultadoBFS recorrido) {
+        int e = excentricidad(recorrido);
+        int[] distancias = recorrido.getDistancias();
+        for (int w : componente) {
+            int d = distancias[w];
+            cotaInferior[w] = Math.max(cotaInferior[w], Math.max(d, e - d));
+            cotaSuperior[w] = Math.min(cotaSuperior[w], e + d);
+        }
+    }
+
+    private static int excentricidad(ResultadoBFS recorrido) {
+        return recorrido.getDistancias()[masLejano(recorrido)];
+    }
+
+    private static int masLejano(ResultadoBFS recorrido) {
+        int[] orden = recorrido.getOrden();
+        return orden[orden.length - 1];
+    }
+
+    /**
+     * Vértice a mitad del camino entre la raíz y el vértice más lejano.
+     */
+    private static int puntoMedio(ResultadoBFS recorrido) {
+        int v = masLejano(recorrido);
+        int[] padres = recorrido.getPadres();
+        for (int pasos = recorrido.getDistancias()[v] / 2; pasos > 0; pasos--)
+            v = padres[v];
+        return v;
+    }
+}
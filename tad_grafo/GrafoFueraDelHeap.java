@@ -0,0 +1,528 @@
+package tad_grafo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Grafo no dirigido de solo lectura cuyas adyacencias, pesos y nombres
+ * quedan fuera del heap: se proyecta en memoria una instantánea guardada con
+ * InstantaneaGrafo.escribir y se consulta directamente sobre la proyección,
+ * sin copiar sus secciones a arreglos ni restaurar la tabla de símbolos
+ * global. Así se pueden recorrer grafos más grandes que el heap, y el
+ * recolector de basura no tiene que revisar sus vértices ni sus lados: el
+ * sistema operativo carga y descarta las páginas del archivo según se usen.
+ *
+ * Los nombres se buscan con la tabla hash guardada en la instantánea. Solo
+ * se crean objetos Vertice y Arista para los resultados de las consultas de
+ * la interfaz Grafo (obtenerVertice, vertices, lados, adyacentes,
+ * incidentes). Son vistas que guardan la posición del vértice o del lado y
+ * leen su id de la proyección cuando se pide, sin registrarlo en la tabla de
+ * símbolos global; su símbolo es el de la tabla guardada en la instantánea.
+ * Para recorrer el grafo completo conviene usar las consultas por posición y
+ * BFS, que no crean objetos por vértice ni por lado. Los lados de una
+ * instantánea no tienen peso, así que las aristas creadas tienen peso 0.
+ */
+
+public class GrafoFueraDelHeap implements Grafo {
+    /**
+     * Bits del tamaño de cada tramo proyectado: una proyección no puede
+     * superar los 2 GB, así que cada sección se divide en tramos de 1 GB.
+     */
+    private static final int BITS_TRAMO = 30;
+
+    private static final Seccion VACIA = new Seccion(new ByteBuffer[0]);
+
+    private int banderas;
+    private int nPrincipales;
+    private int nVertices;
+    private int nLados;
+    private int nIndices;
+    private int tamanoTabla;
+    private int raiz = -1;
+
+    private Seccion pesos = VACIA;
+    private Seccion simbolosVertices = VACIA;
+    private Seccion indices = VACIA;
+    private Seccion desplazamientos = VACIA;
+    private Seccion vecinos = VACIA;
+    private Seccion lados = VACIA;
+    private Seccion simbolosLados = VACIA;
+    private Seccion distancias = VACIA;
+    private Seccion inicios = VACIA;
+    private Seccion hashes = VACIA;
+    private Seccion tabla = VACIA;
+    private Seccion arena = VACIA;
+
+    /**
+     * Constructor de un grafo vacío, que se llena con cargarGrafo.
+     */
+    public GrafoFueraDelHeap() {
+    }
+
+    /**
+     * Proyecta en memoria una instantánea de grafo.
+     *
+     * @param archivo la ruta de la instantánea
+     * @return el grafo guardado en la instantánea
+     * @throws IOException si el archivo no se puede leer, no es una
+     *                     instantánea o es de una versión posterior
+     */
+    public static GrafoFueraDelHeap abrir(Path archivo) throws IOException {
+        GrafoFueraDelHeap grafo = new GrafoFueraDelHeap();
+        grafo.proyectar(archivo);
+        return grafo;
+    }
+
+    private void proyectar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            InstantaneaGrafo.Cabecera cabecera = InstantaneaGrafo.Cabecera.leer(canal, archivo);
+            int nVertices = cabecera.nVertices;
+            int nLados = cabecera.nLados;
+            int nEntradas = cabecera.nEntradas;
+            int nIndices = cabecera.nIndices;
+            int nSimbolos = cabecera.nSimbolos;
+            int tamanoTabla = cabecera.tamanoTabla;
+            long nDistancias = cabecera.nDistancias();
+
+            long posicion = InstantaneaGrafo.TAMANO_CABECERA;
+            pesos = Seccion.proyectar(canal, posicion, (long) Double.BYTES * nVertices);
+            posicion += (long) Double.BYTES * nVertices;
+            simbolosVertices = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * nVertices);
+            posicion += (long) Integer.BYTES * nVertices;
+            indices = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * nIndices);
+            posicion += (long) Integer.BYTES * nIndices;
+            desplazamientos = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * (nVertices + 1L));
+            posicion += (long) Integer.BYTES * (nVertices + 1L);
+            vecinos = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * nEntradas);
+            posicion += (long) Integer.BYTES * nEntradas;
+            lados = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * nEntradas);
+            posicion += (long) Integer.BYTES * nEntradas;
+            simbolosLados = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * nLados);
+            posicion += (long) Integer.BYTES * nLados;
+            distancias = Seccion.proyectar(canal, posicion, Integer.BYTES * nDistancias);
+            posicion += Integer.BYTES * nDistancias;
+            inicios = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * (nSimbolos + 1L));
+            posicion += (long) Integer.BYTES * (nSimbolos + 1L);
+            hashes = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * nSimbolos);
+            posicion += (long) Integer.BYTES * nSimbolos;
+            tabla = Seccion.proyectar(canal, posicion, (long) Integer.BYTES * tamanoTabla);
+            posicion += (long) Integer.BYTES * tamanoTabla;
+            arena = Seccion.proyectar(canal, posicion, cabecera.tamanoArena);
+
+            this.banderas = cabecera.banderas;
+            this.nPrincipales = cabecera.nPrincipales;
+            this.nVertices = nVertices;
+            this.nLados = nLados;
+            this.nIndices = nIndices;
+            this.tamanoTabla = tamanoTabla;
+            this.raiz = cabecera.raiz;
+        }
+    }
+
+    /**
+     * Carga el grafo proyectando en memoria una instantánea. Reemplaza el
+     * contenido anterior del grafo.
+     *
+     * @param dirArchivo la ruta de la instantánea.
+     * @return true si se cargó correctamente el grafo, false en caso
+     *         contrario.
+     */
+    public boolean cargarGrafo(String dirArchivo) {
+        try {
+            proyectar(Path.of(dirArchivo));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error abriendo el archivo: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public int numeroDeVertices() {
+        return nVertices;
+    }
+
+    public int numeroDeLados() {
+        return nLados;
+    }
+
+    public int numeroDePrincipales() {
+        return nPrincipales;
+    }
+
+    public int getBanderas() {
+        return banderas;
+    }
+
+    /**
+     * Posición del vértice desde el que se guardaron las distancias, o -1 si
+     * la instantánea no tiene distancias.
+     */
+    public int getRaiz() {
+        return raiz;
+    }
+
+    /**
+     * Distancia guardada desde la raíz hasta un vértice.
+     *
+     * @param indice la posición del vértice
+     * @return la distancia en saltos, o -1 si no es alcanzable
+     * @throws IllegalStateException si la instantánea no tiene distancias
+     */
+    public int distancia(int indice) {
+        if (raiz < 0)
+            throw new IllegalStateException("La instantánea no tiene distancias");
+        return distancias.entero(indice);
+    }
+
+    // Los vertices y las aristas de este grafo no se pueden modificar: agregar o
+    // eliminar un vertice no hace nada y retorna false.
+
+    public boolean agregarVertice(Vertice v) {
+        return false;
+    }
+
+    public boolean agregarVertice(String id, double peso) {
+        return false;
+    }
+
+    public boolean eliminarVertice(String id) {
+        return false;
+    }
+
+    /**
+     * Busca un vertice requerido en el grafo ***
+     *
+     * @param id Identificador del vertice a consultar
+     * @return una copia del vertice solicitado, en caso de que no se encuentre
+     *         retorna Error.
+     */
+    public Vertice obtenerVertice(String id) {
+        return vertice(indiceRequerido(id));
+    }
+
+    /**
+     * Busca la posición de un vértice a partir de su id, en la tabla hash de
+     * la instantánea.
+     *
+     * @param id el id del vértice
+     * @return la posición del vértice, o -1 si no está en el grafo
+     */
+    public int indiceVertice(String id) {
+        if (tamanoTabla == 0)
+            return -1;
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int hash = TablaSimbolos.hash(bytes);
+        int mascara = tamanoTabla - 1;
+        for (int posicion = hash & mascara;; posicion = (posicion + 1) & mascara) {
+            int simbolo = tabla.entero(posicion) - 1;
+            if (simbolo < 0)
+                return -1;
+            if (hashes.entero(simbolo) == hash && mismoNombre(simbolo, bytes))
+                return simbolo < nIndices ? indices.entero(simbolo) : -1;
+        }
+    }
+
+    private boolean mismoNombre(int simbolo, byte[] bytes) {
+        int inicio = inicios.entero(simbolo);
+        if (inicios.entero(simbolo + 1) - inicio != bytes.length)
+            return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (arena.octeto(inicio + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    private int indiceRequerido(String id) {
+        int indice = indiceVertice(id);
+        if (indice < 0)
+            throw new NoSuchElementException(id);
+        return indice;
+    }
+
+    public String idVertice(int indice) {
+        return nombre(simbolosVertices.entero(indice));
+    }
+
+    public String idLado(int indice) {
+        return nombre(simbolosLados.entero(indice));
+    }
+
+    public double getPeso(int indice) {
+        return pesos.real(indice);
+    }
+
+    private String nombre(int simbolo) {
+        int inicio = inicios.entero(simbolo);
+        byte[] bytes = new byte[inicios.entero(simbolo + 1) - inicio];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = arena.octeto(inicio + i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Vertice vertice(int indice) {
+        return new VerticeProyectado(indice, simbolosVertices.entero(indice), getPeso(indice));
+    }
+
+    private Arista arista(int lado, Vertice u, Vertice v) {
+        return new AristaProyectada(lado, simbolosLados.entero(lado), u, v);
+    }
+
+    /**
+     * Verifica si un vertice esta en el grafo ***
+     *
+     * @return true si esta el vertice, false si no esta.
+     */
+    public boolean estaVertice(String id) {
+        return indiceVertice(id) >= 0;
+    }
+
+    /**
+     * Verifica si un lado esta en el grafo, recorriendo los vecinos del
+     * extremo de menor grado ***
+     *
+     * @return true si esta el lado, false si no esta.
+     */
+    public boolean estaLado(String u, String v) {
+        int j = indiceVertice(u);
+        int k = indiceVertice(v);
+        if (j < 0 || k < 0)
+            return false;
+        if (grado(j) > grado(k)) {
+            int auxiliar = j;
+            j = k;
+            k = auxiliar;
+        }
+        for (int e = desplazamientos.entero(j); e < desplazamientos.entero(j + 1); e++) {
+            if (vecinos.entero(e) == k)
+                return true;
+        }
+        return false;
+    }
+
+    // Crea la lista de todos los vertices del grafo, con un objeto por vertice.
+    public List<Vertice> vertices() {
+        List<Vertice> vertices = new ArrayList<>(nVertices);
+        for (int i = 0; i < nVertices; i++)
+            vertices.add(vertice(i));
+        return vertices;
+    }
+
+    // Crea la lista de todos los lados del grafo, con un objeto por lado.
+    public List<Lado> lados() {
+        Vertice[] vertices = vertices().toArray(new Vertice[0]);
+        Lado[] resultado = new Lado[nLados];
+        for (int u = 0; u < nVertices; u++) {
+            for (int e = desplazamientos.entero(u); e < desplazamientos.entero(u + 1); e++) {
+                int lado = lados.entero(e);
+                if (resultado[lado] == null)
+                    resultado[lado] = arista(lado, vertices[u], vertices[vecinos.entero(e)]);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(resultado));
+    }
+
+    // Retorna el grado de un vertice requerido.
+    public int grado(String id) {
+        return grado(indiceRequerido(id));
+    }
+
+    public int grado(int indice) {
+        return desplazamientos.entero(indice + 1) - desplazamientos.entero(indice);
+    }
+
+    // Busca y retorna la lista de los vertices adyacentes a un vertice dado.
+    public List<Vertice> adyacentes(String id) {
+        int indice = indiceRequerido(id);
+        List<Vertice> adyacentes = new ArrayList<>(grado(indice));
+        for (int e = desplazamientos.entero(indice); e < desplazamientos.entero(indice + 1); e++)
+            adyacentes.add(vertice(vecinos.entero(e)));
+        return adyacentes;
+    }
+
+    // Busca y retorna una lista de los lados incidentes a un vertice dado.
+    public List<Lado> incidentes(String id) {
+        int indice = indiceRequerido(id);
+        Vertice vertice = vertice(indice);
+        List<Lado> incidentes = new ArrayList<>(grado(indice));
+        for (int e = desplazamientos.entero(indice); e < desplazamientos.entero(indice + 1); e++) {
+            int lado = lados.entero(e);
+            incidentes.add(arista(lado, vertice, vertice(vecinos.entero(e))));
+        }
+        return incidentes;
+    }
+
+    /**
+     * Crea una copia del grafo. Como el grafo no se puede modificar, la copia
+     * comparte las proyecciones del archivo en lugar de duplicarlas.
+     */
+    public Object clone() {
+        GrafoFueraDelHeap copia = new GrafoFueraDelHeap();
+        copia.banderas = banderas;
+        copia.nPrincipales = nPrincipales;
+        copia.nVertices = nVertices;
+        copia.nLados = nLados;
+        copia.nIndices = nIndices;
+        copia.tamanoTabla = tamanoTabla;
+        copia.raiz = raiz;
+        copia.pesos = pesos;
+        copia.simbolosVertices = simbolosVertices;
+        copia.indices = indices;
+        copia.desplazamientos = desplazamientos;
+        copia.vecinos = vecinos;
+        copia.lados = lados;
+        copia.simbolosLados = simbolosLados;
+        copia.distancias = distancias;
+        copia.inicios = inicios;
+        copia.hashes = hashes;
+        copia.tabla = tabla;
+        copia.arena = arena;
+        return copia;
+    }
+
+    // Retorna el grafo representado mediante un String, con el formato de GrafoNoDirigido.
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%d\n%d", nVertices, nLados));
+        for (int i = 0; i < nVertices; i++)
+            texto.append(String.format("%s %f\n", idVertice(i), getPeso(i)));
+        for (Lado lado : lados()) {
+            Arista arista = (Arista) lado;
+            texto.append(String.format("%s %s %s %f\n", arista.getId(), arista.getExtremo1().getId(),
+                    arista.getExtremo2().getId(), arista.getPeso()));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Realiza una búsqueda en anchura (BFS) directamente sobre las
+     * adyacencias proyectadas. Cuesta O(V + E); solo las distancias, los
+     * padres y la cola ocupan memoria del heap.
+     *
+     * @param grafo          el grafo en el que se realizará la búsqueda
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return las distancias desde la raíz, el padre de cada vértice en el árbol
+     *         BFS y el orden en que se descubrieron los vértices
+     */
+    public static ResultadoBFS BFS(GrafoFueraDelHeap grafo, int indiceNodoRaiz) {
+        Seccion desplazamientos = grafo.desplazamientos;
+        Seccion vecinos = grafo.vecinos;
+        int n = grafo.nVertices;
+
+        int[] distancias = new int[n];
+        int[] padres = new int[n];
+        int[] cola = new int[n];
+        Arrays.fill(distancias, -1);
+        Arrays.fill(padres, -1);
+
+        distancias[indiceNodoRaiz] = 0;
+        cola[0] = indiceNodoRaiz;
+        int inicio = 0;
+        int fin = 1;
+        while (inicio < fin) {
+            int vertice = cola[inicio++];
+            int hasta = desplazamientos.entero(vertice + 1);
+            for (int k = desplazamientos.entero(vertice); k < hasta; k++) {
+                int adyacente = vecinos.entero(k);
+                if (distancias[adyacente] < 0) {
+                    distancias[adyacente] = distancias[vertice] + 1;
+                    padres[adyacente] = vertice;
+                    cola[fin++] = adyacente;
+                }
+            }
+        }
+
+        return new ResultadoBFS(indiceNodoRaiz, distancias, padres, Arrays.copyOf(cola, fin));
+    }
+
+    /**
+     * Vértice que lee su id de la proyección a partir de su posición.
+     */
+    private final class VerticeProyectado extends Vertice {
+        private final int indice;
+
+        VerticeProyectado(int indice, int simbolo, double peso) {
+            super(simbolo, peso);
+            this.indice = indice;
+        }
+
+        @Override
+        public String getId() {
+            return idVertice(indice);
+        }
+    }
+
+    /**
+     * Arista que lee su id de la proyección a partir de su posición.
+     */
+    private final class AristaProyectada extends Arista {
+        private final int lado;
+
+        AristaProyectada(int lado, int simbolo, Vertice u, Vertice v) {
+            super(simbolo, 0, u, v);
+            this.lado = lado;
+        }
+
+        @Override
+        public String getId() {
+            return idLado(lado);
+        }
+    }
+
+    /**
+     * Sección del archivo proyectada en tramos de 1 GB. Todos los elementos
+     * de una sección están alineados a su tamaño, así que ninguno queda
+     * partido entre dos tramos.
+     */
+    private static final class Seccion {
+        private static final long MASCARA = (1L << BITS_TRAMO) - 1;
+
+        private final ByteBuffer[] tramos;
+
+        /**
+         * El primer tramo, con el que se resuelven sin más cálculos los
+         * accesos de las secciones de menos de 1 GB.
+         */
+        private final ByteBuffer primero;
+
+        private Seccion(ByteBuffer[] tramos) {
+            this.tramos = tramos;
+            this.primero = tramos.length > 0 ? tramos[0] : ByteBuffer.allocate(0);
+        }
+
+        static Seccion proyectar(FileChannel canal, long posicion, long bytes) throws IOException {
+            ByteBuffer[] tramos = new ByteBuffer[(int) ((bytes + MASCARA) >>> BITS_TRAMO)];
+            for (int i = 0; i < tramos.length; i++) {
+                long desde = (long) i << BITS_TRAMO;
+                tramos[i] = canal.map(FileChannel.MapMode.READ_ONLY, posicion + desde,
+                        Math.min(1L << BITS_TRAMO, bytes - desde)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Seccion(tramos);
+        }
+
+        int entero(long indice) {
+            long byte_ = indice * Integer.BYTES;
+            if (byte_ <= MASCARA)
+                return primero.getInt((int) byte_);
+            return tramos[(int) (byte_ >>> BITS_TRAMO)].getInt((int) (byte_ & MASCARA));
+        }
+
+        double real(long indice) {
+            long byte_ = indice * Double.BYTES;
+            return tramos[(int) (byte_ >>> BITS_TRAMO)].getDouble((int) (byte_ & MASCARA));
+        }
+
+        byte octeto(long indice) {
+            return tramos[(int) (indice >>> BITS_TRAMO)].get((int) (indice & MASCARA));
+        }
+    }
+}
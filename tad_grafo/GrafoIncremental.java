@@ -0,0 +1,457 @@
+package tad_grafo;
+
+import java.util.Arrays;
+
+/**
+ * Grafo no dirigido formado por una instantánea y los vértices y lados que se
+ * le agregan después, sin reconstruir sus adyacencias. Los lados nuevos de
+ * cada vértice se guardan aparte y se recorren junto con los de la
+ * instantánea.
+ *
+ * Si la instantánea tiene distancias desde una raíz, se mantienen al agregar
+ * lados (BFS dinámico): como solo se agregan lados, las distancias solo pueden
+ * bajar, y cada lado nuevo se relaja en ambos sentidos y propaga la mejora
+ * únicamente a los vértices cuya distancia cambia. El costo de una
+ * actualización depende de la zona afectada, no del tamaño del grafo.
+ *
+ * Las distancias de la instantánea no se copian ni se modifican: las que
+ * cambian se guardan aparte, en una tabla por posición, y lo mismo ocurre con
+ * los lados nuevos de cada vértice y con los ids de los vértices nuevos, de
+ * modo que crear el grafo y agregarle algo cuesta según lo agregado y no
+ * según el tamaño de la instantánea.
+ *
+ * Los vértices nuevos se numeran a continuación de los de la instantánea, y
+ * al congelar se reordenan para que los principales queden al inicio.
+ */
+
+public class GrafoIncremental {
+    private final InstantaneaGrafo base;
+    private final int nBase;
+    private final int[] distanciasBase;
+
+    /**
+     * Distancias de los vértices de la instantánea que bajaron, por posición.
+     */
+    private final MapaEnteros distanciasCambiadas = new MapaEnteros();
+
+    private int nNuevos;
+    private int[] simbolosNuevos = new int[16];
+    private boolean[] principalesNuevos = new boolean[16];
+    private int[] distanciasNuevas = new int[16];
+
+    /**
+     * Posición de los vértices nuevos, por símbolo.
+     */
+    private final MapaEnteros indicesNuevos = new MapaEnteros();
+
+    private int nLadosNuevos;
+    private int[] simbolosLadosNuevos = new int[16];
+
+    /**
+     * Pares de extremos de los lados nuevos y de los lados de la instantánea
+     * de los vértices cargados, para saber en tiempo constante si dos
+     * vértices ya están unidos.
+     */
+    private final ConjuntoLados pares = new ConjuntoLados(false);
+
+    /**
+     * Vértices de la instantánea cuyos lados ya se agregaron a pares.
+     */
+    private final MapaEnteros cargados = new MapaEnteros();
+
+    /**
+     * Lados nuevos de cada vértice, como listas enlazadas sobre arreglos. Solo
+     * los vértices con lados nuevos tienen una ranura, en la que se guardan la
+     * primera y la última entrada de su lista y cuántas tiene. Cada entrada
+     * guarda el vecino, la posición del lado y la siguiente entrada del mismo
+     * vértice.
+     */
+    private final MapaEnteros ranuras = new MapaEnteros();
+    private int nRanuras;
+    private int[] primerasEntradas = new int[16];
+    private int[] ultimasEntradas = new int[16];
+    private int[] gradosNuevos = new int[16];
+    private int nEntradas;
+    private int[] vecinosEntradas = new int[16];
+    private int[] ladosEntradas = new int[16];
+    private int[] siguientesEntradas = new int[16];
+
+    private int[] pendientes = new int[16];
+    private int actualizados;
+
+    /**
+     * Constructor de la clase GrafoIncremental.
+     *
+     * @param base La instantánea a la que se agregan vértices y lados.
+     */
+    public GrafoIncremental(InstantaneaGrafo base) {
+        this.base = base;
+        this.nBase = base.numeroDeVertices();
+        this.distanciasBase = base.getDistancias();
+    }
+
+    public int numeroDeVertices() {
+        return nBase + nNuevos;
+    }
+
+    /**
+     * Número de veces que bajó la distancia de algún vértice desde que se creó
+     * el grafo. Un vértice se cuenta más de una vez si varios lados nuevos lo
+     * acercan a la raíz.
+     *
+     * @return número de distancias actualizadas
+     */
+    public int distanciasActualizadas() {
+        return actualizados;
+    }
+
+    /**
+     * Busca la posición de un vértice a partir del símbolo de su id.
+     *
+     * @param simbolo el símbolo del id en la tabla global
+     * @return la posición del vértice, o -1 si no está en el grafo
+     */
+    public int indiceDeSimbolo(int simbolo) {
+        int indice = base.indiceDeSimbolo(simbolo);
+        if (indice >= 0)
+            return indice;
+        return indicesNuevos.obtener(simbolo, -1);
+    }
+
+    /**
+     * Agrega un vértice si no existe.
+     *
+     * @param simbolo   el símbolo de su id
+     * @param principal true si al congelar debe quedar entre los vértices
+     *                  principales
+     * @return la posición del vértice
+     */
+    public int agregarVertice(int simbolo, boolean principal) {
+        int indice = indiceDeSimbolo(simbolo);
+        if (indice >= 0)
+            return indice;
+
+        if (nNuevos == simbolosNuevos.length) {
+            simbolosNuevos = Arrays.copyOf(simbolosNuevos, nNuevos * 2);
+            principalesNuevos = Arrays.copyOf(principalesNuevos, nNuevos * 2);
+            distanciasNuevas = Arrays.copyOf(distanciasNuevas, nNuevos * 2);
+        }
+        simbolosNuevos[nNuevos] = simbolo;
+        principalesNuevos[nNuevos] = principal;
+        distanciasNuevas[nNuevos] = -1;
+        indice = nBase + nNuevos++;
+        indicesNuevos.poner(simbolo, indice);
+        return indice;
+    }
+
+    /**
+     * Agrega un lado entre dos vértices si no existe otro entre los mismos, y
+     * actualiza las distancias a la raíz.
+     *
+     * @param simbolo el símbolo del id del lado
+     * @param u       la posición de un extremo
+     * @param v       la posición del otro extremo
+     * @return true si se agregó el lado
+     */
+    public boolean agregarArista(int simbolo, int u, int v) {
+        if (estaLado(u, v))
+            return false;
+
+        if (nLadosNuevos == simbolosLadosNuevos.length)
+            simbolosLadosNuevos = Arrays.copyOf(simbolosLadosNuevos, nLadosNuevos * 2);
+        int lado = base.numeroDeLados() + nLadosNuevos;
+        simbolosLadosNuevos[nLadosNuevos++] = simbolo;
+        pares.agregar(u, v);
+        agregarEntrada(u, v, lado);
+        if (u != v)
+            agregarEntrada(v, u, lado);
+
+        if (distanciasBase != null) {
+            relajar(u, v);
+            relajar(v, u);
+        }
+        return true;
+    }
+
+    /**
+     * Distancia de la raíz a un vértice.
+     *
+     * @param v la posición del vértice
+     * @return la distancia, o -1 si no es alcanzable o no hay distancias
+     */
+    public int distancia(int v) {
+        if (distanciasBase == null)
+            return -1;
+        return v < nBase ? distanciasCambiadas.obtener(v, distanciasBase[v]) : distanciasNuevas[v - nBase];
+    }
+
+    private void setDistancia(int v, int distancia) {
+        if (v < nBase)
+            distanciasCambiadas.poner(v, distancia);
+        else
+            distanciasNuevas[v - nBase] = distancia;
+        actualizados++;
+    }
+
+    /**
+     * Si u mejora la distancia de v, la actualiza y la propaga en anchura a
+     * los vértices cuya distancia también mejora.
+     */
+    private void relajar(int u, int v) {
+        int du = distancia(u);
+        int dv = distancia(v);
+        if (du < 0 || (dv >= 0 && dv <= du + 1))
+            return;
+
+        setDistancia(v, du + 1);
+        pendientes[0] = v;
+        int inicio = 0;
+        int fin = 1;
+        while (inicio < fin) {
+            int x = pendientes[inicio++];
+            int siguiente = distancia(x) + 1;
+            if (x < nBase) {
+                int[] desplazamientos = base.adyacencia().getDesplazamientos();
+                int[] vecinos = base.adyacencia().getVecinos();
+                for (int k = desplazamientos[x]; k < desplazamientos[x + 1]; k++)
+                    fin = mejorar(vecinos[k], siguiente, fin);
+            }
+            for (int e = primeraEntrada(x); e >= 0; e = siguientesEntradas[e])
+                fin = mejorar(vecinosEntradas[e], siguiente, fin);
+            // Se compacta la cola cuando la parte procesada ocupa más de la mitad.
+            if (inicio > pendientes.length / 2) {
+                System.arraycopy(pendientes, inicio, pendientes, 0, fin - inicio);
+                fin -= inicio;
+                inicio = 0;
+            }
+        }
+    }
+
+    private int mejorar(int w, int distancia, int fin) {
+        int dw = distancia(w);
+        if (dw >= 0 && dw <= distancia)
+            return fin;
+        setDistancia(w, distancia);
+        if (fin == pendientes.length)
+            pendientes = Arrays.copyOf(pendientes, fin * 2);
+        pendientes[fin] = w;
+        return fin + 1;
+    }
+
+    /**
+     * Indica si ya hay un lado entre u y v. Los lados nuevos están en pares;
+     * si los dos extremos son de la instantánea y ninguno se cargó todavía, se
+     * agregan a pares los lados de la instantánea del extremo de menor grado,
+     * de modo que la adyacencia de cada vértice se recorre a lo sumo una vez.
+     */
+    private boolean estaLado(int u, int v) {
+        if (u >= nBase || v >= nBase || cargados.obtener(u, 0) != 0 || cargados.obtener(v, 0) != 0)
+            return pares.contiene(u, v);
+
+        AdyacenciaCSR adyacenciaBase = base.adyacencia();
+        int x = adyacenciaBase.grado(u) <= adyacenciaBase.grado(v) ? u : v;
+        int[] desplazamientos = adyacenciaBase.getDesplazamientos();
+        int[] vecinos = adyacenciaBase.getVecinos();
+        for (int k = desplazamientos[x]; k < desplazamientos[x + 1]; k++)
+            pares.agregar(x, vecinos[k]);
+        cargados.poner(x, 1);
+        return pares.contiene(u, v);
+    }
+
+    private int grado(int v) {
+        int ranura = ranuras.obtener(v, -1);
+        int nuevos = ranura < 0 ? 0 : gradosNuevos[ranura];
+        return v < nBase ? nuevos + base.adyacencia().grado(v) : nuevos;
+    }
+
+    private int primeraEntrada(int v) {
+        int ranura = ranuras.obtener(v, -1);
+        return ranura < 0 ? -1 : primerasEntradas[ranura];
+    }
+
+    /**
+     * Agrega al final de la lista de lados nuevos de v una entrada hacia su
+     * vecino.
+     */
+    private void agregarEntrada(int v, int vecino, int lado) {
+        if (nEntradas == vecinosEntradas.length) {
+            vecinosEntradas = Arrays.copyOf(vecinosEntradas, nEntradas * 2);
+            ladosEntradas = Arrays.copyOf(ladosEntradas, nEntradas * 2);
+            siguientesEntradas = Arrays.copyOf(siguientesEntradas, nEntradas * 2);
+        }
+        vecinosEntradas[nEntradas] = vecino;
+        ladosEntradas[nEntradas] = lado;
+        siguientesEntradas[nEntradas] = -1;
+
+        int ranura = ranuras.obtener(v, -1);
+        if (ranura < 0) {
+            if (nRanuras == primerasEntradas.length) {
+                primerasEntradas = Arrays.copyOf(primerasEntradas, nRanuras * 2);
+                ultimasEntradas = Arrays.copyOf(ultimasEntradas, nRanuras * 2);
+                gradosNuevos = Arrays.copyOf(gradosNuevos, nRanuras * 2);
+            }
+            ranura = nRanuras++;
+            ranuras.poner(v, ranura);
+            primerasEntradas[ranura] = nEntradas;
+        } else {
+            siguientesEntradas[ultimasEntradas[ranura]] = nEntradas;
+        }
+        ultimasEntradas[ranura] = nEntradas++;
+        gradosNuevos[ranura]++;
+    }
+
+    /**
+     * Crea una instantánea con la instantánea base y todo lo agregado. Los
+     * vértices principales nuevos quedan a continuación de los principales de
+     * la base, y el resto de los nuevos al final. Si la base tenía distancias,
+     * la nueva instantánea lleva las distancias actualizadas.
+     *
+     * @return la nueva instantánea
+     */
+    public InstantaneaGrafo congelar() {
+        int nPrincipalesBase = base.numeroDePrincipales();
+        int nPrincipalesNuevos = 0;
+        for (int k = 0; k < nNuevos; k++) {
+            if (principalesNuevos[k])
+                nPrincipalesNuevos++;
+        }
+
+        // Nueva posición de cada vértice nuevo.
+        int[] posicionesNuevas = new int[nNuevos];
+        for (int k = 0, principal = 0, resto = 0; k < nNuevos; k++) {
+            posicionesNuevas[k] = principalesNuevos[k] ? nPrincipalesBase + principal++
+                    : nBase + nPrincipalesNuevos + resto++;
+        }
+
+        int n = nBase + nNuevos;
+        int[] simbolosVertices = new int[n];
+        double[] pesos = new double[n];
+        int[] distancias = distanciasBase != null ? new int[n] : null;
+        int[] grados = new int[n];
+        for (int v = 0; v < n; v++) {
+            int posicion = posicion(v, posicionesNuevas, nPrincipalesBase, nPrincipalesNuevos);
+            simbolosVertices[posicion] = v < nBase ? base.simboloVertice(v) : simbolosNuevos[v - nBase];
+            pesos[posicion] = v < nBase ? base.getPeso(v) : 0;
+            if (distancias != null)
+                distancias[posicion] = distancia(v);
+            grados[posicion] = grado(v);
+        }
+
+        int[] desplazamientos = new int[n + 1];
+        for (int v = 0; v < n; v++)
+            desplazamientos[v + 1] = desplazamientos[v] + grados[v];
+        int[] vecinos = new int[desplazamientos[n]];
+        int[] lados = new int[desplazamientos[n]];
+        AdyacenciaCSR adyacenciaBase = base.adyacencia();
+        for (int v = 0; v < n; v++) {
+            int posicion = posicion(v, posicionesNuevas, nPrincipalesBase, nPrincipalesNuevos);
+            int siguiente = desplazamientos[posicion];
+            if (v < nBase) {
+                for (int k = adyacenciaBase.getDesplazamientos()[v]; k < adyacenciaBase.getDesplazamientos()[v
+                        + 1]; k++) {
+                    vecinos[siguiente] = posicion(adyacenciaBase.getVecinos()[k], posicionesNuevas,
+                            nPrincipalesBase, nPrincipalesNuevos);
+                    lados[siguiente++] = adyacenciaBase.getLados()[k];
+                }
+            }
+            for (int e = primeraEntrada(v); e >= 0; e = siguientesEntradas[e]) {
+                vecinos[siguiente] = posicion(vecinosEntradas[e], posicionesNuevas, nPrincipalesBase,
+                        nPrincipalesNuevos);
+                lados[siguiente++] = ladosEntradas[e];
+            }
+        }
+
+        int[] simbolosLados = Arrays.copyOf(ladosBase(), base.numeroDeLados() + nLadosNuevos);
+        System.arraycopy(simbolosLadosNuevos, 0, simbolosLados, base.numeroDeLados(), nLadosNuevos);
+
+        int[] indices = new int[TablaSimbolos.global().numeroDeSimbolos()];
+        Arrays.fill(indices, -1);
+        for (int posicion = 0; posicion < n; posicion++)
+            indices[simbolosVertices[posicion]] = posicion;
+
+        InstantaneaGrafo instantanea = new InstantaneaGrafo(base.getBanderas(),
+                nPrincipalesBase + nPrincipalesNuevos, pesos, simbolosVertices, indices,
+                new AdyacenciaCSR(desplazamientos, vecinos, lados), simbolosLados);
+        if (distancias != null) {
+            instantanea.setDistancias(
+                    posicion(base.getRaiz(), posicionesNuevas, nPrincipalesBase, nPrincipalesNuevos), distancias);
+        }
+        return instantanea;
+    }
+
+    private int[] ladosBase() {
+        int[] simbolos = new int[base.numeroDeLados()];
+        for (int l = 0; l < simbolos.length; l++)
+            simbolos[l] = base.simboloLado(l);
+        return simbolos;
+    }
+
+    /**
+     * Posición de un vértice en la instantánea congelada.
+     */
+    private int posicion(int v, int[] posicionesNuevas, int nPrincipalesBase, int nPrincipalesNuevos) {
+        if (v >= nBase)
+            return posicionesNuevas[v - nBase];
+        return v < nPrincipalesBase ? v : v + nPrincipalesNuevos;
+    }
+
+    /**
+     * Tabla hash de direccionamiento abierto de enteros no negativos a
+     * enteros, con el mismo esquema que ConjuntoLados, para guardar solo las
+     * posiciones que cambian.
+     */
+    private static final class MapaEnteros {
+        private static final int LIBRE = -1;
+
+        private int[] claves = new int[16];
+        private int[] valores = new int[16];
+        private int nClaves;
+
+        MapaEnteros() {
+            Arrays.fill(claves, LIBRE);
+        }
+
+        int obtener(int clave, int ausente) {
+            int posicion = ubicar(clave);
+            return claves[posicion] == LIBRE ? ausente : valores[posicion];
+        }
+
+        void poner(int clave, int valor) {
+            int posicion = ubicar(clave);
+            valores[posicion] = valor;
+            if (claves[posicion] != LIBRE)
+                return;
+            claves[posicion] = clave;
+            if (++nClaves * 2 > claves.length)
+                crecer();
+        }
+
+        private int ubicar(int clave) {
+            int mascara = claves.length - 1;
+            int posicion = dispersar(clave) & mascara;
+            while (claves[posicion] != LIBRE && claves[posicion] != clave)
+                posicion = (posicion + 1) & mascara;
+            return posicion;
+        }
+
+        private void crecer() {
+            int[] anteriores = claves;
+            int[] valoresAnteriores = valores;
+            claves = new int[anteriores.length * 2];
+            valores = new int[anteriores.length * 2];
+            Arrays.fill(claves, LIBRE);
+            for (int i = 0; i < anteriores.length; i++) {
+                if (anteriores[i] != LIBRE) {
+                    int posicion = ubicar(anteriores[i]);
+                    claves[posicion] = anteriores[i];
+                    valores[posicion] = valoresAnteriores[i];
+                }
+            }
+        }
+
+        private static int dispersar(int clave) {
+            int h = clave * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -13,6 +13,14 @@ public class GrafoNoDirigido implements Grafo {
     private int nAristas;
     private List<Vertice> vertices;
     private List<Arista> aristas;
+    private int[] indices;
+    private AdyacenciaCSR adyacencia;
+
+    /**
+     * Pares de simbolos de los extremos de las aristas, para que estaLado y
+     * agregarArista no recorran la lista de aristas.
+     */
+    private final ConjuntoLados pares = new ConjuntoLados(false);
 
     /***
      * Constructor de la clase GrafoNoDirigido ***
@@ -28,6 +36,46 @@ public class GrafoNoDirigido implements Grafo {
         this.nAristas = nAristas;
         this.vertices = vertices;
         this.aristas = aristas;
+        this.indices = new int[0];
+        reconstruirIndices(0);
+        reconstruirPares();
+    }
+
+    /***
+     * Registra en el conjunto de pares los extremos de todas las aristas ***
+     */
+    private void reconstruirPares() {
+        pares.limpiar();
+        for (Arista arista : aristas) {
+            pares.agregar(arista.getExtremo1().getSimbolo(), arista.getExtremo2().getSimbolo());
+        }
+    }
+
+    /***
+     * Registra en el indice los vertices a partir de una posicion dada ***
+     * 
+     * @param desde Primera posicion de la lista de vertices a registrar.
+     */
+    private void reconstruirIndices(int desde) {
+        for (int i = desde; i < vertices.size(); i++) {
+            registrarIndice(vertices.get(i).getSimbolo(), i);
+        }
+    }
+
+    /***
+     * Asocia el simbolo del id de un vertice con su posicion en la lista,
+     * ampliando el indice si hace falta ***
+     * 
+     * @param simbolo Simbolo del id del vertice.
+     * @param indice  Posicion del vertice, o -1 para quitarlo del indice.
+     */
+    private void registrarIndice(int simbolo, int indice) {
+        if (simbolo >= indices.length) {
+            int tamanoAnterior = indices.length;
+            indices = Arrays.copyOf(indices, Math.max(simbolo + 1, tamanoAnterior * 2));
+            Arrays.fill(indices, tamanoAnterior, indices.length, -1);
+        }
+        indices[simbolo] = indice;
     }
 
     /***
@@ -51,6 +99,7 @@ public class GrafoNoDirigido implements Grafo {
      */
 
     public boolean cargarGrafo(String dirArchivo) {
+        adyacencia = null;
         BufferedReader br = null;
         try {
             br = new BufferedReader(new FileReader(dirArchivo));
@@ -70,6 +119,7 @@ public class GrafoNoDirigido implements Grafo {
 
                 double peso = Double.parseDouble(datos[1]);
                 Vertice nuevoVertice = new Vertice(datos[0], peso);
+                registrarIndice(nuevoVertice.getSimbolo(), vertices.size());
                 vertices.add(nuevoVertice);
             }
 
@@ -86,6 +136,7 @@ public class GrafoNoDirigido implements Grafo {
                 Vertice extremo2 = obtenerVertice(datos[2]);
                 double peso = Double.parseDouble(datos[3]);
                 Arista nuevaArista = new Arista(datos[0], peso, extremo1, extremo2);
+                pares.agregar(extremo1.getSimbolo(), extremo2.getSimbolo());
                 aristas.add(nuevaArista);
             }
 
@@ -113,9 +164,14 @@ public class GrafoNoDirigido implements Grafo {
         return nAristas;
     }
 
-    // Agrega el vertice "v" al grafo.
+    // Agrega el vertice "v" al grafo, si no hay otro vertice con su mismo id.
     public boolean agregarVertice(Vertice v) {
+        if (indiceDeSimbolo(v.getSimbolo()) >= 0) {
+            return false;
+        }
+        registrarIndice(v.getSimbolo(), vertices.size());
         nVertices++;
+        adyacencia = null;
         return vertices.add(v);
     }
 
@@ -126,13 +182,20 @@ public class GrafoNoDirigido implements Grafo {
      * @param peso Peso asignado al vertice a agregar.
      */
     public boolean agregarVertice(String id, double peso) {
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id)) {
-                return false;
-            }
+        return agregarVertice(TablaSimbolos.global().agregar(id), peso);
+    }
+
+    /***
+     * Agrega el un vertice al grafo.
+     * 
+     * @param simbolo Simbolo del identificador del vertice en la tabla global.
+     * @param peso    Peso asignado al vertice a agregar.
+     */
+    public boolean agregarVertice(int simbolo, double peso) {
+        if (indiceDeSimbolo(simbolo) >= 0) {
+            return false;
         }
-        Vertice nuevoVertice = new Vertice(id, peso);
-        nVertices++;
+        Vertice nuevoVertice = new Vertice(simbolo, peso);
         return agregarVertice(nuevoVertice);
     }
 
@@ -143,12 +206,32 @@ public class GrafoNoDirigido implements Grafo {
      * @return el vertice solicitado, en caso de que no se encuentre retorna Error.
      */
     public Vertice obtenerVertice(String id) {
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id)) {
-                return vertice;
-            }
+        return vertices.get(indiceVertice(id));
+    }
+
+    /***
+     * Busca la posicion de un vertice en la lista de vertices del grafo ***
+     * 
+     * @param id Identificador del vertice a consultar
+     * @return la posicion del vertice, en caso de que no se encuentre retorna
+     *         Error.
+     */
+    public int indiceVertice(String id) {
+        int indice = indiceDeSimbolo(TablaSimbolos.global().buscar(id));
+        if (indice < 0) {
+            throw new NoSuchElementException(id);
         }
-        throw new NoSuchElementException(id);
+        return indice;
+    }
+
+    /***
+     * Busca la posicion de un vertice a partir del simbolo de su id ***
+     * 
+     * @param simbolo Simbolo del identificador del vertice en la tabla global.
+     * @return la posicion del vertice, o -1 si no esta en el grafo.
+     */
+    public int indiceDeSimbolo(int simbolo) {
+        return simbolo >= 0 && simbolo < indices.length ? indices[simbolo] : -1;
     }
 
     /***
@@ -157,12 +240,7 @@ public class GrafoNoDirigido implements Grafo {
      * @return true si esta el vertice, false si no esta.
      */
     public boolean estaVertice(String id) {
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id)) {
-                return true;
-            }
-        }
-        return false;
+        return indiceDeSimbolo(TablaSimbolos.global().buscar(id)) >= 0;
     }
 
     /***
@@ -171,19 +249,21 @@ public class GrafoNoDirigido implements Grafo {
      * @return true si esta el lado, false si no esta.
      */
     public boolean estaLado(String u, String v) {
-        for (Arista arista : aristas) {
-            String Extremo1 = arista.getExtremo1().getId();
-            String Extremo2 = arista.getExtremo2().getId();
-            if ((Extremo1.equals(u) && Extremo2.equals(v)) || (Extremo1.equals(v) && Extremo2.equals(u))) {
-                return true;
-            }
-        }
-        return false;
+        TablaSimbolos tabla = TablaSimbolos.global();
+        return estaLado(tabla.buscar(u), tabla.buscar(v));
+    }
+
+    // Verifica si hay una arista entre los vertices con los simbolos dados, en tiempo constante.
+    private boolean estaLado(int u, int v) {
+        return pares.contiene(u, v);
     }
 
     /***
      * Elimina un vertice requerido ***
      * 
+     * Sus aristas quedan en la lista de aristas, pero la representacion
+     * compacta y los BFS las ignoran, como en Digrafo.
+     * 
      * @return Error si no hay ningun vertice con ese id.
      */
 
@@ -191,16 +271,17 @@ public class GrafoNoDirigido implements Grafo {
         if (!estaVertice(id)) {
             throw new NoSuchElementException();
         }
-        Vertice verticeAEliminar = null;
-        for (Vertice vertice : vertices) {
-            if (vertice.getId().equals(id)) {
-                verticeAEliminar = vertice;
-            }
-        }
-        return vertices.remove(verticeAEliminar);
+        int indice = indiceVertice(id);
+        registrarIndice(vertices.get(indice).getSimbolo(), -1);
+        vertices.remove(indice);
+        nVertices--;
+        adyacencia = null;
+        reconstruirIndices(indice);
+        return true;
     }
 
-    // Retorna la lista de los vertices en el grafo.
+    // Retorna la lista de los vertices en el grafo. Los vertices deben agregarse
+    // con agregarVertice para que queden registrados en el indice.
     public List<Vertice> vertices() {
         return vertices;
     }
@@ -212,20 +293,50 @@ public class GrafoNoDirigido implements Grafo {
         return lados;
     }
 
-    // Retorna el grado de un vertice requerido.
+    /***
+     * Congela el grafo: construye la representacion compacta (CSR) de sus
+     * adyacencias, con la que grado, adyacentes e incidentes cuestan
+     * O(grado). Cualquier modificacion posterior del grafo la descarta y
+     * vuelve a las consultas sobre la lista de aristas hasta el siguiente
+     * congelamiento ***
+     */
+    public void congelar() {
+        if (adyacencia != null) {
+            return;
+        }
+        int[] extremos1 = new int[aristas.size()];
+        int[] extremos2 = new int[aristas.size()];
+        for (int i = 0; i < aristas.size(); i++) {
+            Arista arista = aristas.get(i);
+            extremos1[i] = indiceDeSimbolo(arista.getExtremo1().getSimbolo());
+            extremos2[i] = indiceDeSimbolo(arista.getExtremo2().getSimbolo());
+        }
+        adyacencia = AdyacenciaCSR.construir(vertices.size(), extremos1, extremos2, true);
+    }
+
+    // Indica si el grafo tiene su representacion compacta vigente.
+    public boolean estaCongelado() {
+        return adyacencia != null;
+    }
+
+    /***
+     * Retorna la representacion compacta de las adyacencias, congelando el
+     * grafo si hace falta ***
+     * 
+     * @return las adyacencias del grafo en formato CSR.
+     */
+    public AdyacenciaCSR adyacencia() {
+        congelar();
+        return adyacencia;
+    }
+
+    // Retorna el grado de un vertice requerido. Como en Digrafo, se calcula sobre
+    // la representacion compacta, que ignora las aristas de los vertices eliminados.
     public int grado(String id) {
         if (!estaVertice(id)) {
             throw new NoSuchElementException(id);
         }
-        int grado = 0;
-        for (Arista arista : aristas) {
-            String Extremo1 = arista.getExtremo1().getId();
-            String Extremo2 = arista.getExtremo2().getId();
-            if (Extremo1.equals(id) || Extremo2.equals(id)) {
-                grado++;
-            }
-        }
-        return grado;
+        return adyacencia().grado(indiceVertice(id));
     }
 
     // Busca y retorna la lista de los vertices adyacentes a un vertice dado.
@@ -234,12 +345,22 @@ public class GrafoNoDirigido implements Grafo {
             throw new NoSuchElementException(id);
         }
         List<Vertice> adyacentes = new ArrayList<>();
+        if (adyacencia != null) {
+            int indice = indiceVertice(id);
+            int[] desplazamientos = adyacencia.getDesplazamientos();
+            int[] vecinos = adyacencia.getVecinos();
+            for (int k = desplazamientos[indice]; k < desplazamientos[indice + 1]; k++) {
+                adyacentes.add(vertices.get(vecinos[k]));
+            }
+            return adyacentes;
+        }
+        int simbolo = TablaSimbolos.global().buscar(id);
         for (Arista arista : aristas) {
-            String Extremo1 = arista.getExtremo1().getId();
-            String Extremo2 = arista.getExtremo2().getId();
-            if (Extremo1.equals(id)) {
+            int Extremo1 = arista.getExtremo1().getSimbolo();
+            int Extremo2 = arista.getExtremo2().getSimbolo();
+            if (Extremo1 == simbolo) {
                 adyacentes.add(arista.getExtremo2());
-            } else if (Extremo2.equals(id)) {
+            } else if (Extremo2 == simbolo) {
                 adyacentes.add(arista.getExtremo1());
             }
         }
@@ -252,10 +373,20 @@ public class GrafoNoDirigido implements Grafo {
             throw new NoSuchElementException(id);
         }
         List<Lado> incidentes = new ArrayList<>();
+        if (adyacencia != null) {
+            int indice = indiceVertice(id);
+            int[] desplazamientos = adyacencia.getDesplazamientos();
+            int[] lados = adyacencia.getLados();
+            for (int k = desplazamientos[indice]; k < desplazamientos[indice + 1]; k++) {
+                incidentes.add(aristas.get(lados[k]));
+            }
+            return incidentes;
+        }
+        int simbolo = TablaSimbolos.global().buscar(id);
         for (Arista arista : aristas) {
-            String Extremo1 = arista.getExtremo1().getId();
-            String Extremo2 = arista.getExtremo2().getId();
-            if (Extremo1.equals(id) || Extremo2.equals(id)) {
+            int Extremo1 = arista.getExtremo1().getSimbolo();
+            int Extremo2 = arista.getExtremo2().getSimbolo();
+            if (Extremo1 == simbolo || Extremo2 == simbolo) {
                 incidentes.add(arista);
             }
         }
@@ -268,17 +399,27 @@ public class GrafoNoDirigido implements Grafo {
         List<Arista> aristasClone = new ArrayList<>();
 
         for (Vertice vertice : vertices) {
-            Vertice verticeClone = new Vertice(vertice.getId(), vertice.getPeso());
+            Vertice verticeClone = new Vertice(vertice.getSimbolo(), vertice.getPeso());
             verticesClone.add(verticeClone);
         }
 
+        GrafoNoDirigido grafoClone = new GrafoNoDirigido(nVertices, nAristas, verticesClone, aristasClone);
+
         for (Arista arista : aristas) {
-            Arista aristaClone = new Arista(arista.getId(), arista.getPeso(), arista.getExtremo1(),
-                    arista.getExtremo2());
+            Vertice extremo1 = verticeClonado(arista.getExtremo1(), verticesClone);
+            Vertice extremo2 = verticeClonado(arista.getExtremo2(), verticesClone);
+            Arista aristaClone = new Arista(arista.getSimbolo(), arista.getPeso(), extremo1, extremo2);
             aristasClone.add(aristaClone);
         }
+        grafoClone.reconstruirPares();
 
-        return new GrafoNoDirigido(nVertices, nAristas, verticesClone, aristasClone);
+        return grafoClone;
+    }
+
+    // Retorna la copia de un vertice, o el mismo vertice si ya no esta en el grafo.
+    private Vertice verticeClonado(Vertice vertice, List<Vertice> verticesClone) {
+        int indice = indiceDeSimbolo(vertice.getSimbolo());
+        return indice < 0 ? vertice : verticesClone.get(indice);
     }
 
     // Retorna el grafo representado mediante un String.
@@ -302,6 +443,8 @@ public class GrafoNoDirigido implements Grafo {
     // Agrega una arista al grafo
     public boolean agregarArista(Arista a) {
         nAristas++;
+        adyacencia = null;
+        pares.agregar(a.getExtremo1().getSimbolo(), a.getExtremo2().getSimbolo());
         return aristas.add(a);
     }
 
@@ -316,14 +459,28 @@ public class GrafoNoDirigido implements Grafo {
      *         vertices a conectar.
      */
     public boolean agregarArista(String id, double peso, String u, String v) {
-        if (estaLado(u, v) || (!estaVertice(u)) || (!estaVertice(v))) {
+        TablaSimbolos tabla = TablaSimbolos.global();
+        return agregarArista(tabla.agregar(id), peso, tabla.buscar(u), tabla.buscar(v));
+    }
+
+    /***
+     * Agrga una arista al grafo
+     * 
+     * @param u,v     Simbolos de los extremos a conectar.
+     * @param simbolo Simbolo del identificador de la arista a insertar.
+     * @param peso    Peso de la arista a insertar.
+     * @return false en caso de que ya se encuentre la arista o no se encuentre
+     *         alguno de los
+     *         vertices a conectar.
+     */
+    public boolean agregarArista(int simbolo, double peso, int u, int v) {
+        int j = indiceDeSimbolo(u);
+        int k = indiceDeSimbolo(v);
+        if (j < 0 || k < 0 || estaLado(u, v)) {
             return false;
         }
-        Vertice j = obtenerVertice(u);
-        Vertice k = obtenerVertice(v);
 
-        Arista nuevaArista = new Arista(id, peso, j, k);
-        nAristas++;
+        Arista nuevaArista = new Arista(simbolo, peso, vertices.get(j), vertices.get(k));
         return agregarArista(nuevaArista);
     }
 
@@ -335,8 +492,12 @@ public class GrafoNoDirigido implements Grafo {
      *         encuentre dicha arista.
      */
     public boolean eliminarArista(String id) {
+        int simbolo = TablaSimbolos.global().buscar(id);
         for (Arista arista : aristas) {
-            if (arista.getId().equals(id)) {
+            if (arista.getSimbolo() == simbolo) {
+                adyacencia = null;
+                pares.quitar(arista.getExtremo1().getSimbolo(), arista.getExtremo2().getSimbolo());
+                nAristas--;
                 return aristas.remove(arista);
             }
         }
@@ -351,8 +512,9 @@ public class GrafoNoDirigido implements Grafo {
      *         el id requerido.
      */
     public Arista obtenerArista(String id) {
+        int simbolo = TablaSimbolos.global().buscar(id);
         for (Arista arista : aristas) {
-            if (arista.getId().equals(id)) {
+            if (arista.getSimbolo() == simbolo) {
                 return arista;
             }
         }
@@ -360,40 +522,45 @@ public class GrafoNoDirigido implements Grafo {
     }
 
     /**
-     * Realiza una búsqueda en anchura (BFS) en un grafo dirigido.
+     * Realiza una búsqueda en anchura (BFS) en un grafo no dirigido, sobre su
+     * representación compacta. Cuesta O(V + E) y no construye los caminos: se
+     * reconstruyen a pedido desde los padres con ResultadoBFS.camino.
      *
-     * @param grafo el grafo no dirigido en el que se realizará la búsqueda
-     * @return una lista de listas de vértices que representan los caminos cerrados
-     *         recorridos en el grafo
+     * @param grafo          el grafo no dirigido en el que se realizará la
+     *                       búsqueda
+     * @param indiceNodoRaiz la posición del vértice raíz
+     * @return las distancias desde la raíz, el padre de cada vértice en el árbol
+     *         BFS y el orden en que se descubrieron los vértices
      */
-    public static List<List<Vertice>> BFS(GrafoNoDirigido grafo, int indiceNodoRaiz) {
-
-        boolean[] visitado = new boolean[grafo.vertices().size()];
-        Queue<List<Vertice>> caminosAbiertos = new LinkedList<>();
-        List<List<Vertice>> caminosCerrados = new ArrayList<>();
-
-        Vertice vertice = grafo.vertices().get(indiceNodoRaiz);
-        visitado[grafo.vertices().indexOf(vertice)] = true;
-        List<Vertice> camino = new ArrayList<>();
-        camino.add(vertice);
-        caminosAbiertos.add(camino);
-
-        while (!caminosAbiertos.isEmpty()) {
-            List<Vertice> caminoAbiertoActual = caminosAbiertos.poll();
-            vertice = caminoAbiertoActual.get(caminoAbiertoActual.size() - 1);
-            caminosCerrados.add(caminoAbiertoActual);
-
-            for (Vertice adyacente : grafo.adyacentes(vertice.getId())) {
-                if (!visitado[grafo.vertices().indexOf(adyacente)]) {
-                    visitado[grafo.vertices().indexOf(adyacente)] = true;
-                    List<Vertice> nuevoCamino = new ArrayList<>(caminoAbiertoActual);
-                    nuevoCamino.add(adyacente);
-                    caminosAbiertos.add(nuevoCamino);
+    public static ResultadoBFS BFS(GrafoNoDirigido grafo, int indiceNodoRaiz) {
+        AdyacenciaCSR adyacencia = grafo.adyacencia();
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int n = adyacencia.numeroDeVertices();
+
+        int[] distancias = new int[n];
+        int[] padres = new int[n];
+        int[] cola = new int[n];
+        Arrays.fill(distancias, -1);
+        Arrays.fill(padres, -1);
+
+        distancias[indiceNodoRaiz] = 0;
+        cola[0] = indiceNodoRaiz;
+        int inicio = 0;
+        int fin = 1;
+        while (inicio < fin) {
+            int vertice = cola[inicio++];
+            for (int k = desplazamientos[vertice]; k < desplazamientos[vertice + 1]; k++) {
+                int adyacente = vecinos[k];
+                if (distancias[adyacente] < 0) {
+                    distancias[adyacente] = distancias[vertice] + 1;
+                    padres[adyacente] = vertice;
+                    cola[fin++] = adyacente;
                 }
             }
         }
 
-        return caminosCerrados;
+        return new ResultadoBFS(indiceNodoRaiz, distancias, padres, Arrays.copyOf(cola, fin));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,488 @@
+package tad_grafo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vista de solo lectura de un grafo no dirigido congelado: sus adyacencias en
+ * formato CSR, el símbolo y el peso de cada vértice y el símbolo de cada lado.
+ * Se puede guardar en un archivo binario y volver a cargar sin leer la entrada
+ * original ni crear un objeto por vértice o por lado.
+ *
+ * El archivo empieza con una cabecera de 64 bytes (número mágico, versión,
+ * banderas y tamaños) seguida de las secciones, todas en little-endian: pesos,
+ * símbolos de los vértices, posición de cada símbolo en los vértices,
+ * desplazamientos, vecinos y lados de la CSR, símbolos de los lados, las
+ * distancias desde una raíz si se guardaron (desde la versión 2) y, al
+ * final, la tabla de símbolos global (inicios, hashes, tabla hash y bytes de
+ * los nombres). Al cargar, el archivo se proyecta en memoria por tramos y cada
+ * sección se copia en bloque a su arreglo.
+ */
+
+public class InstantaneaGrafo {
+    /**
+     * Los bytes "NKBG" leídos en little-endian.
+     */
+    static final int MAGICO = 0x47424B4E;
+
+    /**
+     * Versión del formato; cambia con cualquier cambio en la disposición de
+     * las secciones.
+     */
+    public static final int VERSION = 2;
+
+    static final int TAMANO_CABECERA = 64;
+
+    /**
+     * Tamaño máximo, en bytes, de cada tramo proyectado o escrito de una vez.
+     */
+    private static final int TAMANO_TRAMO = 1 << 26;
+
+    /**
+     * Banderas libres para quien crea la instantánea, por ejemplo para indicar
+     * cómo se construyó el grafo.
+     */
+    private final int banderas;
+
+    /**
+     * Número de vértices principales, que ocupan las primeras posiciones.
+     */
+    private final int nPrincipales;
+
+    private final double[] pesos;
+    private final int[] simbolosVertices;
+
+    /**
+     * Posición de cada símbolo en la lista de vértices, o -1 si no es un
+     * vértice.
+     */
+    private final int[] indices;
+
+    private final AdyacenciaCSR adyacencia;
+    private final int[] simbolosLados;
+
+    /**
+     * Posición del vértice desde el que se midieron las distancias, o -1 si no
+     * se guardaron distancias.
+     */
+    private int raiz = -1;
+
+    /**
+     * Distancia en saltos desde la raíz a cada vértice, con -1 en los no
+     * alcanzables.
+     */
+    private int[] distancias;
+
+    InstantaneaGrafo(int banderas, int nPrincipales, double[] pesos, int[] simbolosVertices, int[] indices,
+            AdyacenciaCSR adyacencia, int[] simbolosLados) {
+        this.banderas = banderas;
+        this.nPrincipales = nPrincipales;
+        this.pesos = pesos;
+        this.simbolosVertices = simbolosVertices;
+        this.indices = indices;
+        this.adyacencia = adyacencia;
+        this.simbolosLados = simbolosLados;
+    }
+
+    /**
+     * Crea la instantánea de un grafo no dirigido, congelándolo si hace falta.
+     *
+     * @param grafo        el grafo no dirigido
+     * @param nPrincipales número de vértices principales, al inicio de la lista
+     *                     de vértices
+     * @param banderas     banderas que se guardan con la instantánea
+     * @return la instantánea del grafo
+     */
+    public static InstantaneaGrafo de(GrafoNoDirigido grafo, int nPrincipales, int banderas) {
+        List<Vertice> vertices = grafo.vertices();
+        double[] pesos = new double[vertices.size()];
+        int[] simbolosVertices = new int[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            pesos[i] = vertices.get(i).getPeso();
+            simbolosVertices[i] = vertices.get(i).getSimbolo();
+        }
+
+        int[] indices = new int[TablaSimbolos.global().numeroDeSimbolos()];
+        for (int simbolo = 0; simbolo < indices.length; simbolo++)
+            indices[simbolo] = grafo.indiceDeSimbolo(simbolo);
+
+        List<Lado> lados = grafo.lados();
+        int[] simbolosLados = new int[lados.size()];
+        for (int l = 0; l < lados.size(); l++)
+            simbolosLados[l] = lados.get(l).getSimbolo();
+
+        return new InstantaneaGrafo(banderas, nPrincipales, pesos, simbolosVertices, indices, grafo.adyacencia(),
+                simbolosLados);
+    }
+
+    /**
+     * Crea una instantánea directamente a partir de los extremos de sus lados,
+     * sin crear un grafo no dirigido ni un objeto por vértice o por lado. Los
+     * pesos de los vértices son 0.
+     *
+     * @param simbolosVertices el símbolo de cada vértice, sin repetidos
+     * @param nPrincipales     número de vértices principales, al inicio
+     * @param extremos1        la posición de un extremo de cada lado
+     * @param extremos2        la posición del otro extremo de cada lado
+     * @param simbolosLados    el símbolo de cada lado
+     * @param banderas         banderas que se guardan con la instantánea
+     * @return la instantánea
+     */
+    public static InstantaneaGrafo de(int[] simbolosVertices, int nPrincipales, int[] extremos1, int[] extremos2,
+            int[] simbolosLados, int banderas) {
+        int[] indices = new int[TablaSimbolos.global().numeroDeSimbolos()];
+        Arrays.fill(indices, -1);
+        for (int i = 0; i < simbolosVertices.length; i++)
+            indices[simbolosVertices[i]] = i;
+        AdyacenciaCSR adyacencia = AdyacenciaCSR.construir(simbolosVertices.length, extremos1, extremos2, true);
+        return new InstantaneaGrafo(banderas, nPrincipales, new double[simbolosVertices.length], simbolosVertices,
+                indices, adyacencia, simbolosLados);
+    }
+
+    /**
+     * Indica si un archivo empieza con el número mágico de una instantánea.
+     *
+     * @param archivo la ruta del archivo
+     * @return true si el archivo parece una instantánea
+     */
+    public static boolean esInstantanea(Path archivo) {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer magico = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magico.hasRemaining() && canal.read(magico) >= 0)
+                ;
+            return !magico.hasRemaining() && magico.getInt(0) == MAGICO;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Guarda la instantánea junto con la tabla de símbolos global.
+     *
+     * @param archivo la ruta del archivo, que se sobrescribe si existe
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void escribir(Path archivo) throws IOException {
+        TablaSimbolos tabla = TablaSimbolos.global();
+        int nSimbolos = tabla.numeroDeSimbolos();
+        int[] inicios = tabla.getInicios();
+        int[] tablaHash = tabla.getTabla();
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            cabecera.putInt(MAGICO).putInt(VERSION).putInt(banderas).putInt(nPrincipales);
+            cabecera.putInt(pesos.length).putInt(simbolosLados.length).putInt(adyacencia.numeroDeEntradas());
+            cabecera.putInt(indices.length).putInt(nSimbolos).putInt(tablaHash.length).putInt(inicios[nSimbolos]);
+            cabecera.putInt(raiz);
+            cabecera.clear();
+            escribirTodo(canal, cabecera);
+
+            ByteBuffer tramo = ByteBuffer.allocateDirect(TAMANO_TRAMO).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < pesos.length;) {
+                int cantidad = Math.min(pesos.length - i, TAMANO_TRAMO / Double.BYTES);
+                tramo.clear();
+                tramo.asDoubleBuffer().put(pesos, i, cantidad);
+                tramo.limit(cantidad * Double.BYTES);
+                escribirTodo(canal, tramo);
+                i += cantidad;
+            }
+            escribirEnteros(canal, tramo, simbolosVertices, simbolosVertices.length);
+            escribirEnteros(canal, tramo, indices, indices.length);
+            escribirEnteros(canal, tramo, adyacencia.getDesplazamientos(), pesos.length + 1);
+            escribirEnteros(canal, tramo, adyacencia.getVecinos(), adyacencia.numeroDeEntradas());
+            escribirEnteros(canal, tramo, adyacencia.getLados(), adyacencia.numeroDeEntradas());
+            escribirEnteros(canal, tramo, simbolosLados, simbolosLados.length);
+            if (raiz >= 0)
+                escribirEnteros(canal, tramo, distancias, distancias.length);
+            escribirEnteros(canal, tramo, inicios, nSimbolos + 1);
+            escribirEnteros(canal, tramo, tabla.getHashes(), nSimbolos);
+            escribirEnteros(canal, tramo, tablaHash, tablaHash.length);
+            for (int i = 0; i < inicios[nSimbolos];) {
+                int cantidad = Math.min(inicios[nSimbolos] - i, TAMANO_TRAMO);
+                escribirTodo(canal, ByteBuffer.wrap(tabla.getArena(), i, cantidad));
+                i += cantidad;
+            }
+        }
+    }
+
+    /**
+     * Carga una instantánea y restaura con ella la tabla de símbolos global,
+     * que debe estar vacía (se puede vaciar con TablaSimbolos.reiniciar).
+     *
+     * @param archivo la ruta del archivo
+     * @return la instantánea guardada en el archivo
+     * @throws IOException           si el archivo no se puede leer, no es una
+     *                               instantánea o es de una versión posterior
+     * @throws IllegalStateException si la tabla de símbolos global no está
+     *                               vacía
+     */
+    public static InstantaneaGrafo cargar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            Cabecera cabecera = Cabecera.leer(canal, archivo);
+            int nVertices = cabecera.nVertices;
+
+            Lector lector = new Lector(canal, TAMANO_CABECERA);
+            double[] pesos = lector.leerReales(nVertices);
+            int[] simbolosVertices = lector.leerEnteros(nVertices);
+            int[] indices = lector.leerEnteros(cabecera.nIndices);
+            int[] desplazamientos = lector.leerEnteros(nVertices + 1);
+            int[] vecinos = lector.leerEnteros(cabecera.nEntradas);
+            int[] lados = lector.leerEnteros(cabecera.nEntradas);
+            int[] simbolosLados = lector.leerEnteros(cabecera.nLados);
+            int[] distancias = cabecera.raiz >= 0 ? lector.leerEnteros(nVertices) : null;
+            int[] inicios = lector.leerEnteros(cabecera.nSimbolos + 1);
+            int[] hashes = lector.leerEnteros(cabecera.nSimbolos);
+            int[] tabla = lector.leerEnteros(cabecera.tamanoTabla);
+            byte[] arena = lector.leerBytes(cabecera.tamanoArena);
+
+            TablaSimbolos.global().restaurar(arena, inicios, hashes, tabla, cabecera.nSimbolos);
+            InstantaneaGrafo instantanea = new InstantaneaGrafo(cabecera.banderas, cabecera.nPrincipales, pesos,
+                    simbolosVertices, indices, new AdyacenciaCSR(desplazamientos, vecinos, lados), simbolosLados);
+            instantanea.setDistancias(cabecera.raiz, distancias);
+            return instantanea;
+        }
+    }
+
+    public int numeroDeVertices() {
+        return simbolosVertices.length;
+    }
+
+    public int numeroDeLados() {
+        return simbolosLados.length;
+    }
+
+    public int numeroDePrincipales() {
+        return nPrincipales;
+    }
+
+    public int getBanderas() {
+        return banderas;
+    }
+
+    public AdyacenciaCSR adyacencia() {
+        return adyacencia;
+    }
+
+    /**
+     * Guarda con la instantánea las distancias desde una raíz, para no tener
+     * que recalcularlas al cargarla.
+     *
+     * @param raiz       la posición de la raíz, o -1 para no guardar
+     *                   distancias
+     * @param distancias la distancia en saltos desde la raíz a cada vértice
+     */
+    public void setDistancias(int raiz, int[] distancias) {
+        this.raiz = distancias != null ? raiz : -1;
+        this.distancias = raiz >= 0 ? distancias : null;
+    }
+
+    public int getRaiz() {
+        return raiz;
+    }
+
+    public int[] getDistancias() {
+        return distancias;
+    }
+
+    /**
+     * Busca la posición de un vértice a partir de su id.
+     *
+     * @param id el id del vértice
+     * @return la posición del vértice, o -1 si no está en el grafo
+     */
+    public int indiceVertice(String id) {
+        return indiceDeSimbolo(TablaSimbolos.global().buscar(id));
+    }
+
+    /**
+     * Busca la posición de un vértice a partir del símbolo de su id.
+     *
+     * @param simbolo el símbolo del id en la tabla global
+     * @return la posición del vértice, o -1 si no está en el grafo
+     */
+    public int indiceDeSimbolo(int simbolo) {
+        return simbolo >= 0 && simbolo < indices.length ? indices[simbolo] : -1;
+    }
+
+    public String idVertice(int indice) {
+        return TablaSimbolos.global().nombre(simbolosVertices[indice]);
+    }
+
+    public int simboloVertice(int indice) {
+        return simbolosVertices[indice];
+    }
+
+    public String idLado(int indice) {
+        return TablaSimbolos.global().nombre(simbolosLados[indice]);
+    }
+
+    public int simboloLado(int indice) {
+        return simbolosLados[indice];
+    }
+
+    public double getPeso(int indice) {
+        return pesos[indice];
+    }
+
+    public void setPeso(int indice, double peso) {
+        pesos[indice] = peso;
+    }
+
+    private static void escribirEnteros(FileChannel canal, ByteBuffer tramo, int[] datos, int cantidadTotal)
+            throws IOException {
+        for (int i = 0; i < cantidadTotal;) {
+            int cantidad = Math.min(cantidadTotal - i, TAMANO_TRAMO / Integer.BYTES);
+            tramo.clear();
+            tramo.asIntBuffer().put(datos, i, cantidad);
+            tramo.limit(cantidad * Integer.BYTES);
+            escribirTodo(canal, tramo);
+            i += cantidad;
+        }
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteBuffer datos) throws IOException {
+        while (datos.hasRemaining())
+            canal.write(datos);
+    }
+
+    /**
+     * Cabecera de una instantánea guardada: la versión, las banderas y el
+     * tamaño de cada sección. La usan cargar y GrafoFueraDelHeap, para que los
+     * dos lectores sigan siempre el mismo formato.
+     */
+    static final class Cabecera {
+        final int version;
+        final int banderas;
+        final int nPrincipales;
+        final int nVertices;
+        final int nLados;
+        final int nEntradas;
+        final int nIndices;
+        final int nSimbolos;
+        final int tamanoTabla;
+        final int tamanoArena;
+
+        /**
+         * Posición de la raíz de las distancias guardadas, o -1 si no hay
+         * distancias (siempre en la versión 1).
+         */
+        final int raiz;
+
+        private Cabecera(int version, ByteBuffer datos) {
+            this.version = version;
+            this.banderas = datos.getInt();
+            this.nPrincipales = datos.getInt();
+            this.nVertices = datos.getInt();
+            this.nLados = datos.getInt();
+            this.nEntradas = datos.getInt();
+            this.nIndices = datos.getInt();
+            this.nSimbolos = datos.getInt();
+            this.tamanoTabla = datos.getInt();
+            this.tamanoArena = datos.getInt();
+            this.raiz = version >= 2 ? datos.getInt() : -1;
+        }
+
+        /**
+         * Lee la cabecera de un archivo y verifica que el archivo tenga todas
+         * las secciones que ella indica.
+         *
+         * @param canal   el canal del archivo
+         * @param archivo la ruta del archivo, para los mensajes de error
+         * @return la cabecera leída
+         * @throws IOException si el archivo no se puede leer, no es una
+         *                     instantánea, es de una versión posterior o está
+         *                     incompleto
+         */
+        static Cabecera leer(FileChannel canal, Path archivo) throws IOException {
+            if (canal.size() < TAMANO_CABECERA)
+                throw new IOException(archivo + " no es una instantánea de grafo");
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANO_CABECERA);
+            datos.order(ByteOrder.LITTLE_ENDIAN);
+            if (datos.getInt() != MAGICO)
+                throw new IOException(archivo + " no es una instantánea de grafo");
+            int version = datos.getInt();
+            if (version < 1 || version > VERSION)
+                throw new IOException("Versión de instantánea no soportada: " + version);
+
+            Cabecera cabecera = new Cabecera(version, datos);
+            if (canal.size() < cabecera.tamanoArchivo())
+                throw new IOException(archivo + " está incompleto");
+            return cabecera;
+        }
+
+        /**
+         * Número de distancias guardadas: una por vértice, o ninguna.
+         */
+        long nDistancias() {
+            return raiz >= 0 ? nVertices : 0;
+        }
+
+        /**
+         * Tamaño, en bytes, de la cabecera y todas las secciones.
+         */
+        long tamanoArchivo() {
+            return TAMANO_CABECERA + (long) Double.BYTES * nVertices + (long) Integer.BYTES
+                    * (2L * nVertices + 1 + nIndices + 2L * nEntradas + nLados + nDistancias() + 2L * nSimbolos + 1
+                            + tamanoTabla)
+                    + tamanoArena;
+        }
+    }
+
+    /**
+     * Lee secciones consecutivas del archivo proyectándolo en memoria por
+     * tramos, porque una proyección no puede superar los 2 GB.
+     */
+    private static class Lector {
+        private final FileChannel canal;
+        private long posicion;
+
+        Lector(FileChannel canal, long posicion) {
+            this.canal = canal;
+            this.posicion = posicion;
+        }
+
+        private ByteBuffer proyectar(long bytes) throws IOException {
+            MappedByteBuffer tramo = canal.map(FileChannel.MapMode.READ_ONLY, posicion, bytes);
+            posicion += bytes;
+            return tramo.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int[] leerEnteros(int cantidadTotal) throws IOException {
+            int[] datos = new int[cantidadTotal];
+            for (int i = 0; i < cantidadTotal;) {
+                int cantidad = Math.min(cantidadTotal - i, TAMANO_TRAMO / Integer.BYTES);
+                proyectar((long) cantidad * Integer.BYTES).asIntBuffer().get(datos, i, cantidad);
+                i += cantidad;
+            }
+            return datos;
+        }
+
+        double[] leerReales(int cantidadTotal) throws IOException {
+            double[] datos = new double[cantidadTotal];
+            for (int i = 0; i < cantidadTotal;) {
+                int cantidad = Math.min(cantidadTotal - i, TAMANO_TRAMO / Double.BYTES);
+                proyectar((long) cantidad * Double.BYTES).asDoubleBuffer().get(datos, i, cantidad);
+                i += cantidad;
+            }
+            return datos;
+        }
+
+        byte[] leerBytes(int cantidadTotal) throws IOException {
+            byte[] datos = new byte[cantidadTotal];
+            for (int i = 0; i < cantidadTotal;) {
+                int cantidad = Math.min(cantidadTotal - i, TAMANO_TRAMO);
+                proyectar(cantidad).get(datos, i, cantidad);
+                i += cantidad;
+            }
+            return datos;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package tad_grafo;
 
 /**
- * Clase abstracta que representa un lado.
+ * Clase abstracta que representa un lado. El id se guarda como su símbolo en
+ * la tabla de símbolos global.
  */
 
 public abstract class Lado {
-  private String id;
+  private int simbolo;
   private double peso;
 
   /**
@@ -15,7 +16,17 @@ public abstract class Lado {
    * @param peso El peso del lado.
    */
   public Lado(String id, double peso) {
-    this.id = id;
+    this(TablaSimbolos.global().agregar(id), peso);
+  }
+
+  /**
+   * Constructor de la clase.
+   *
+   * @param simbolo El símbolo del id del lado en la tabla global.
+   * @param peso    El peso del lado.
+   */
+  public Lado(int simbolo, double peso) {
+    this.simbolo = simbolo;
     this.peso = peso;
   }
 
@@ -42,7 +53,16 @@ public abstract class Lado {
    * @return El id del lado.
    */
   public String getId() {
-    return id;
+    return TablaSimbolos.global().nombre(simbolo);
+  }
+
+  /**
+   * Obtiene el símbolo del id del lado en la tabla global.
+   *
+   * @return El símbolo del id del lado.
+   */
+  public int getSimbolo() {
+    return simbolo;
   }
 
   /**
@@ -0,0 +1,135 @@
+package tad_grafo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una búsqueda en anchura desde un vértice raíz. Los vértices se
+ * identifican por su posición en la lista de vértices del grafo.
+ */
+
+public class ResultadoBFS {
+    /**
+     * Posición del vértice raíz.
+     */
+    private final int raiz;
+
+    /**
+     * Distancia de la raíz a cada vértice, o -1 si el vértice no es alcanzable.
+     */
+    private final int[] distancias;
+
+    /**
+     * Vértice desde el que se descubrió cada vértice, o -1 para la raíz y los
+     * vértices no alcanzables.
+     */
+    private final int[] padres;
+
+    /**
+     * Vértices alcanzados, en el orden en que fueron descubiertos.
+     */
+    private final int[] orden;
+
+    /**
+     * Constructor de la clase ResultadoBFS.
+     *
+     * @param raiz       Posición del vértice raíz.
+     * @param distancias Distancia de la raíz a cada vértice.
+     * @param padres     Padre de cada vértice en el árbol BFS.
+     * @param orden      Vértices alcanzados en orden de descubrimiento.
+     */
+    public ResultadoBFS(int raiz, int[] distancias, int[] padres, int[] orden) {
+        this.raiz = raiz;
+        this.distancias = distancias;
+        this.padres = padres;
+        this.orden = orden;
+    }
+
+    public int getRaiz() {
+        return raiz;
+    }
+
+    public int[] getDistancias() {
+        return distancias;
+    }
+
+    public int[] getPadres() {
+        return padres;
+    }
+
+    public int[] getOrden() {
+        return orden;
+    }
+
+    /**
+     * Distancia de la raíz a un vértice.
+     *
+     * @param v Posición del vértice.
+     * @return La distancia, o -1 si el vértice no es alcanzable.
+     */
+    public int distancia(int v) {
+        return distancias[v];
+    }
+
+    /**
+     * Reconstruye el camino de la raíz a un vértice siguiendo los padres.
+     *
+     * @param destino Posición del vértice final del camino.
+     * @return Las posiciones de los vértices del camino, empezando por la raíz,
+     *         o un arreglo vacío si el destino no es alcanzable.
+     */
+    public int[] camino(int destino) {
+        if (distancias[destino] < 0)
+            return new int[0];
+
+        int[] camino = new int[distancias[destino] + 1];
+        for (int i = camino.length - 1, v = destino; i >= 0; i--, v = padres[v])
+            camino[i] = v;
+        return camino;
+    }
+
+    /**
+     * Reconstruye el camino de la raíz a un vértice como lista de vértices.
+     *
+     * @param vertices Lista de vértices del grafo recorrido.
+     * @param destino  Posición del vértice final del camino.
+     * @return Los vértices del camino, empezando por la raíz, o una lista vacía
+     *         si el destino no es alcanzable.
+     */
+    public List<Vertice> camino(List<Vertice> vertices, int destino) {
+        List<Vertice> camino = new ArrayList<>();
+        for (int v : camino(destino))
+            camino.add(vertices.get(v));
+        return camino;
+    }
+
+    /**
+     * Reconstruye el camino de la raíz a un vértice siguiendo los padres,
+     * junto con el lado que une cada par de vértices consecutivos. El lado de
+     * cada salto se busca entre las adyacencias del hijo, sin recorrer el
+     * grafo; si hay varios lados entre los mismos vértices se toma el primero.
+     *
+     * @param adyacencia Las adyacencias del grafo recorrido.
+     * @param destino    Posición del vértice final del camino.
+     * @return El camino de la raíz al destino, o un camino sin vértices y con
+     *         distancia -1 si el destino no es alcanzable.
+     */
+    public ResultadoCamino camino(AdyacenciaCSR adyacencia, int destino) {
+        int[] vertices = camino(destino);
+        if (vertices.length == 0)
+            return new ResultadoCamino(-1, vertices, new int[0]);
+
+        int[] desplazamientos = adyacencia.getDesplazamientos();
+        int[] vecinos = adyacencia.getVecinos();
+        int[] ladosCSR = adyacencia.getLados();
+        int[] lados = new int[vertices.length - 1];
+        for (int i = 1; i < vertices.length; i++) {
+            int hijo = vertices[i];
+            int k = desplazamientos[hijo];
+            while (vecinos[k] != vertices[i - 1])
+                k++;
+            lados[i - 1] = ladosCSR[k];
+        }
+        return new ResultadoCamino(lados.length, vertices, lados);
+    }
+}
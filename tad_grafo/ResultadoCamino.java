@@ -0,0 +1,73 @@
+package tad_grafo;
+
+/**
+ * Camino mínimo entre dos vértices. Los vértices se identifican por su
+ * posición en la lista de vértices del grafo y los lados por su posición en
+ * la lista de lados.
+ */
+
+public class ResultadoCamino {
+    /**
+     * Longitud del camino, o -1 si los vértices no están conectados.
+     */
+    private final int distancia;
+
+    /**
+     * Posiciones de los vértices del camino, del origen al destino.
+     */
+    private final int[] vertices;
+
+    /**
+     * Posición del lado entre cada par de vértices consecutivos del camino.
+     */
+    private final int[] lados;
+
+    /**
+     * Constructor de la clase ResultadoCamino.
+     *
+     * @param distancia Longitud del camino, o -1 si no hay camino.
+     * @param vertices  Posiciones de los vértices del camino.
+     * @param lados     Posiciones de los lados del camino.
+     */
+    public ResultadoCamino(int distancia, int[] vertices, int[] lados) {
+        this.distancia = distancia;
+        this.vertices = vertices;
+        this.lados = lados;
+    }
+
+    public int getDistancia() {
+        return distancia;
+    }
+
+    public int[] getVertices() {
+        return vertices;
+    }
+
+    public int[] getLados() {
+        return lados;
+    }
+
+    /**
+     * Indica si se encontró un camino.
+     *
+     * @return true si los vértices están conectados
+     */
+    public boolean hayCamino() {
+        return distancia >= 0;
+    }
+
+    /**
+     * El mismo camino recorrido del destino al origen.
+     *
+     * @return el camino invertido
+     */
+    public ResultadoCamino invertido() {
+        int[] verticesInvertidos = new int[vertices.length];
+        for (int i = 0; i < vertices.length; i++)
+            verticesInvertidos[i] = vertices[vertices.length - 1 - i];
+        int[] ladosInvertidos = new int[lados.length];
+        for (int i = 0; i < lados.length; i++)
+            ladosInvertidos[i] = lados[lados.length - 1 - i];
+        return new ResultadoCamino(distancia, verticesInvertidos, ladosInvertidos);
+    }
+}
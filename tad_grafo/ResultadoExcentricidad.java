@@ -0,0 +1,59 @@
+package tad_grafo;
+
+/**
+ * Diámetro, radio y centro de una componente conexa. Los vértices se
+ * identifican por su posición en la lista de vértices del grafo.
+ */
+
+public class ResultadoExcentricidad {
+    /**
+     * Mayor excentricidad de la componente.
+     */
+    private final int diametro;
+
+    /**
+     * Menor excentricidad de la componente.
+     */
+    private final int radio;
+
+    /**
+     * Vértices cuya excentricidad es igual al radio.
+     */
+    private final int[] centros;
+
+    /**
+     * Número de búsquedas en anchura que se realizaron.
+     */
+    private final int busquedas;
+
+    /**
+     * Constructor de la clase ResultadoExcentricidad.
+     *
+     * @param diametro  Mayor excentricidad de la componente.
+     * @param radio     Menor excentricidad de la componente.
+     * @param centros   Vértices con excentricidad igual al radio.
+     * @param busquedas Número de búsquedas en anchura realizadas.
+     */
+    public ResultadoExcentricidad(int diametro, int radio, int[] centros, int busquedas) {
+        this.diametro = diametro;
+        this.radio = radio;
+        this.centros = centros;
+        this.busquedas = busquedas;
+    }
+
+    public int getDiametro() {
+        return diametro;
+    }
+
+    public int getRadio() {
+        return radio;
+    }
+
+    public int[] getCentros() {
+        return centros;
+    }
+
+    public int getBusquedas() {
+        return busquedas;
+    }
+}
@@ -0,0 +1,230 @@
+package tad_grafo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tabla de símbolos que asigna a cada nombre un entero consecutivo a partir de
+ * 0. Los nombres se guardan una sola vez, codificados en UTF-8 dentro de un
+ * único arreglo de bytes, y se buscan con una tabla hash de direccionamiento
+ * abierto sobre enteros. La tabla global la comparten los vértices, los lados,
+ * los actores y las películas.
+ *
+ * Las inserciones están sincronizadas; las consultas pueden hacerse desde
+ * varios hilos mientras no haya inserciones simultáneas.
+ *
+ * La tabla global nunca se achica: los nombres de cada grafo que se crea o
+ * se carga siguen ocupando memoria aunque el grafo ya no se use, y
+ * InstantaneaGrafo.cargar solo puede restaurar su tabla sobre una tabla
+ * vacía. Para cargar otro grafo en el mismo programa se vacía antes con
+ * reiniciar.
+ */
+
+public class TablaSimbolos {
+    private static final TablaSimbolos GLOBAL = new TablaSimbolos();
+
+    /**
+     * Bytes UTF-8 de todos los nombres, uno a continuación del otro.
+     */
+    private byte[] arena;
+
+    /**
+     * Inicio de cada nombre en la arena; el nombre del símbolo s ocupa
+     * [inicios[s], inicios[s + 1]).
+     */
+    private int[] inicios;
+
+    /**
+     * Hash de cada símbolo, para reubicarlo al crecer la tabla sin recalcularlo.
+     */
+    private int[] hashes;
+
+    /**
+     * Tabla hash con el símbolo + 1 en cada posición ocupada y 0 en las libres.
+     */
+    private int[] tabla;
+
+    /**
+     * Número de símbolos registrados.
+     */
+    private int nSimbolos;
+
+    /**
+     * Constructor de una tabla de símbolos vacía.
+     */
+    public TablaSimbolos() {
+        this.arena = new byte[1024];
+        this.inicios = new int[65];
+        this.hashes = new int[64];
+        this.tabla = new int[128];
+    }
+
+    /**
+     * Devuelve la tabla de símbolos compartida por todo el programa.
+     *
+     * @return La tabla de símbolos global.
+     */
+    public static TablaSimbolos global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Número de símbolos registrados.
+     *
+     * @return número de símbolos
+     */
+    public int numeroDeSimbolos() {
+        return nSimbolos;
+    }
+
+    /**
+     * Devuelve el símbolo de un nombre, registrándolo si todavía no existe.
+     *
+     * @param nombre El nombre a registrar.
+     * @return El símbolo asignado al nombre.
+     */
+    public synchronized int agregar(String nombre) {
+        byte[] bytes = nombre.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int posicion = ubicar(bytes, hash);
+        if (tabla[posicion] != 0)
+            return tabla[posicion] - 1;
+
+        if (nSimbolos == hashes.length) {
+            hashes = Arrays.copyOf(hashes, nSimbolos * 2);
+            inicios = Arrays.copyOf(inicios, nSimbolos * 2 + 1);
+        }
+        int inicio = inicios[nSimbolos];
+        if (inicio + bytes.length > arena.length)
+            arena = Arrays.copyOf(arena, Math.max(inicio + bytes.length, arena.length * 2));
+        System.arraycopy(bytes, 0, arena, inicio, bytes.length);
+
+        int simbolo = nSimbolos++;
+        inicios[nSimbolos] = inicio + bytes.length;
+        hashes[simbolo] = hash;
+        tabla[posicion] = simbolo + 1;
+        if (nSimbolos * 2 > tabla.length)
+            crecerTabla();
+        return simbolo;
+    }
+
+    /**
+     * Busca el símbolo de un nombre.
+     *
+     * @param nombre El nombre a buscar.
+     * @return El símbolo del nombre, o -1 si no está registrado.
+     */
+    public int buscar(String nombre) {
+        byte[] bytes = nombre.getBytes(StandardCharsets.UTF_8);
+        return tabla[ubicar(bytes, hash(bytes))] - 1;
+    }
+
+    /**
+     * Devuelve el nombre de un símbolo.
+     *
+     * @param simbolo El símbolo.
+     * @return El nombre asociado al símbolo.
+     */
+    public String nombre(int simbolo) {
+        if (simbolo < 0 || simbolo >= nSimbolos)
+            throw new IndexOutOfBoundsException(simbolo);
+        int inicio = inicios[simbolo];
+        return new String(arena, inicio, inicios[simbolo + 1] - inicio, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reemplaza el contenido de una tabla vacía por el de otra guardada, sin
+     * volver a calcular hashes ni a insertar los nombres uno por uno. Los
+     * arreglos deben venir de una tabla con el mismo formato: la tabla hash
+     * con un tamaño potencia de 2 y a lo sumo medio llena.
+     *
+     * @param arena     Bytes UTF-8 de los nombres.
+     * @param inicios   Inicio de cada nombre en la arena, con nSimbolos + 1
+     *                  elementos.
+     * @param hashes    Hash de cada símbolo.
+     * @param tabla     Tabla hash con el símbolo + 1 en cada posición ocupada.
+     * @param nSimbolos Número de símbolos.
+     * @throws IllegalStateException si la tabla ya tiene símbolos; se puede
+     *                               vaciar antes con reiniciar.
+     */
+    synchronized void restaurar(byte[] arena, int[] inicios, int[] hashes, int[] tabla, int nSimbolos) {
+        if (this.nSimbolos != 0)
+            throw new IllegalStateException("La tabla de símbolos no está vacía");
+        if (nSimbolos == 0)
+            return;
+        this.arena = arena;
+        this.inicios = inicios;
+        this.hashes = hashes;
+        this.tabla = tabla;
+        this.nSimbolos = nSimbolos;
+    }
+
+    /**
+     * Vacía la tabla y libera sus arreglos. Los símbolos que se asignaron
+     * antes dejan de ser válidos, por lo que no se deben seguir usando los
+     * grafos, instantáneas ni listas que los contienen.
+     */
+    public synchronized void reiniciar() {
+        this.arena = new byte[1024];
+        this.inicios = new int[65];
+        this.hashes = new int[64];
+        this.tabla = new int[128];
+        this.nSimbolos = 0;
+    }
+
+    byte[] getArena() {
+        return arena;
+    }
+
+    int[] getInicios() {
+        return inicios;
+    }
+
+    int[] getHashes() {
+        return hashes;
+    }
+
+    int[] getTabla() {
+        return tabla;
+    }
+
+    /**
+     * Devuelve la posición de la tabla hash en la que está el nombre, o la
+     * posición libre en la que debe insertarse.
+     */
+    private int ubicar(byte[] bytes, int hash) {
+        int mascara = tabla.length - 1;
+        int posicion = hash & mascara;
+        while (tabla[posicion] != 0) {
+            int simbolo = tabla[posicion] - 1;
+            if (hashes[simbolo] == hash && Arrays.equals(arena, inicios[simbolo], inicios[simbolo + 1], bytes, 0,
+                    bytes.length))
+                return posicion;
+            posicion = (posicion + 1) & mascara;
+        }
+        return posicion;
+    }
+
+    private void crecerTabla() {
+        int[] nuevaTabla = new int[tabla.length * 2];
+        int mascara = nuevaTabla.length - 1;
+        for (int simbolo = 0; simbolo < nSimbolos; simbolo++) {
+            int posicion = hashes[simbolo] & mascara;
+            while (nuevaTabla[posicion] != 0)
+                posicion = (posicion + 1) & mascara;
+            nuevaTabla[posicion] = simbolo + 1;
+        }
+        tabla = nuevaTabla;
+    }
+
+    /**
+     * Hash FNV-1a de los bytes de un nombre, mezclado para repartir mejor los
+     * bits bajos.
+     */
+    static int hash(byte[] bytes) {
+        int h = 0x811c9dc5;
+        for (byte b : bytes)
+            h = (h ^ (b & 0xff)) * 0x01000193;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,11 +1,12 @@
 package tad_grafo;
 
 /**
- * Esta clase representa un vértice en un grafo.
+ * Esta clase representa un vértice en un grafo. El id se guarda como su
+ * símbolo en la tabla de símbolos global.
  */
 
 public class Vertice {
-  private String id;
+  private int simbolo;
   private double peso;
 
   /**
@@ -15,7 +16,17 @@ public class Vertice {
    * @param peso El peso del vértice.
    */
   public Vertice(String id, double peso) {
-    this.id = id;
+    this(TablaSimbolos.global().agregar(id), peso);
+  }
+
+  /**
+   * Constructor de la clase
+   *
+   * @param simbolo El símbolo del id del vértice en la tabla global.
+   * @param peso    El peso del vértice.
+   */
+  public Vertice(int simbolo, double peso) {
+    this.simbolo = simbolo;
     this.peso = peso;
   }
 
@@ -45,7 +56,16 @@ public class Vertice {
    * @return El id de este vértice.
    */
   public String getId() {
-    return id;
+    return TablaSimbolos.global().nombre(simbolo);
+  }
+
+  /**
+   * Devuelve el símbolo del id de este vértice en la tabla global.
+   *
+   * @return El símbolo del id de este vértice.
+   */
+  public int getSimbolo() {
+    return simbolo;
   }
 
   public void setPeso(double peso){
@@ -58,7 +78,7 @@ public class Vertice {
    * @return Una representación en string de este vértice.
    */
   public String toString() {
-    String string = String.format("id: %d, peso: %d", id, peso);
+    String string = String.format("id: %d, peso: %d", getId(), peso);
     return string;
   }
 }